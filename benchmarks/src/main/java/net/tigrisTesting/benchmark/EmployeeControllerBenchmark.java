@@ -0,0 +1,189 @@
+package net.tigrisTesting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.tigrisTesting.cache.EmployeeJsonCache;
+import net.tigrisTesting.controller.EmployeeController;
+import net.tigrisTesting.converter.EmployeeJsonHttpMessageConverter;
+import net.tigrisTesting.dto.BulkUpdateRequest;
+import net.tigrisTesting.dto.EmployeeFilter;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+// full spring mvc dispatch (mapping, argument resolution, message conversion) for the EmployeeController
+// endpoints, backed by the real service over the in-memory repository: create, _bulk, _bulk_update,
+// _bulk_delete, list, keyset page, fuzzy, export and get / put / patch / delete by id.
+// search and ?fields= need the criteria api of a real database, _import is EmployeeImportController's
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeControllerBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    // getEmployeeById answered from pre-serialized json, writes do not evict here (no cache proxy)
+    @Param({"false", "true"})
+    private boolean jsonCache;
+
+    private MockMvc mockMvc;
+    private EmployeeRepository employeeRepository;
+    private ObjectMapper objectMapper;
+    private long hotId;
+    private byte[] newEmployeeJson;
+    private byte[] updateJson;
+    private byte[] bulkJson;
+    private List<Long> bulkIds;
+    private byte[] bulkUpdateJson;
+    private byte[] bulkDeleteJson;
+    private final AtomicLong emails = new AtomicLong();
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = EmployeeFixtures.objectMapper();
+        employeeRepository = InMemoryEmployeeRepository.create();
+        EmployeeJsonCache employeeJsonCache = new EmployeeJsonCache(EmployeeJsonCache.caffeine(64L << 20, Duration.ofMinutes(10)),
+                objectMapper, jsonCache, false);
+        EmployeeController controller = new EmployeeController(EmployeeFixtures.service(employeeRepository, rows), objectMapper,
+                employeeJsonCache);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(new EmployeeJsonHttpMessageConverter(), new ByteArrayHttpMessageConverter(), new StringHttpMessageConverter(),
+                        new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+        hotId = rows / 2;
+        Employee update = EmployeeFixtures.employee(0);
+        update.setEmail("employee" + hotId + "@mail.com");
+        updateJson = objectMapper.writeValueAsBytes(update);
+        newEmployeeJson = objectMapper.writeValueAsBytes(EmployeeFixtures.employee(0));
+        List<Employee> bulk = EmployeeFixtures.employees(100);
+        bulk.forEach(employee -> employee.setId(0));
+        bulkJson = objectMapper.writeValueAsBytes(bulk);
+        bulkIds = LongStream.rangeClosed(1, Math.min(rows, 100)).boxed().toList();
+        bulkUpdateJson = objectMapper.writeValueAsBytes(new BulkUpdateRequest(new EmployeeFilter(bulkIds, null), "bulk", null));
+        bulkDeleteJson = objectMapper.writeValueAsBytes(new EmployeeFilter(bulkIds, null));
+    }
+
+    @Benchmark
+    public MvcResult createEmployee() throws Exception {
+        String json = new String(newEmployeeJson).replace("employee0@", "new" + emails.incrementAndGet() + "@");
+        MvcResult result = mockMvc.perform(post("/api/employee/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json)).andReturn();
+        // keep the table size stable between invocations
+        employeeRepository.deleteEmployeeById(objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("id").asLong());
+        return result;
+    }
+
+    @Benchmark
+    public MvcResult createEmployees() throws Exception {
+        long batch = emails.incrementAndGet();
+        MvcResult result = mockMvc.perform(post("/api/employee/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new String(bulkJson).replace("@mail.com", "." + batch + "@mail.com"))).andReturn();
+        objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("results")
+                .forEach(item -> employeeRepository.deleteEmployeeById(item.get("id").asLong()));
+        return result;
+    }
+
+    @Benchmark
+    public MvcResult getAllEmployees() throws Exception {
+        return mockMvc.perform(get("/api/employee/")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getEmployeePage() throws Exception {
+        return mockMvc.perform(get("/api/employee/").param("limit", "100")).andReturn();
+    }
+
+    // a bulk update of a page of ids: versions grow, the row count stays
+    @Benchmark
+    public MvcResult updateEmployees() throws Exception {
+        return mockMvc.perform(post("/api/employee/_bulk_update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bulkUpdateJson)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult deleteEmployees() throws Exception {
+        List<Employee> deleted = bulkIds.stream().map(id -> employeeRepository.findById(id).orElseThrow()).toList();
+        MvcResult result = mockMvc.perform(post("/api/employee/_bulk_delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bulkDeleteJson)).andReturn();
+        deleted.forEach(employeeRepository::save);
+        return result;
+    }
+
+    // one typo against the seeded emails, answered by the trigram index
+    @Benchmark
+    public MvcResult fuzzySearchEmployees() throws Exception {
+        return mockMvc.perform(get("/api/employee/fuzzy").param("q", "employe" + hotId + "@mail")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult exportEmployees() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/employee/export").accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        return mockMvc.perform(asyncDispatch(result)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getEmployeeById() throws Exception {
+        return mockMvc.perform(get("/api/employee/{id}", hotId)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getEmployeeByIdNotModified() throws Exception {
+        long version = employeeRepository.findVersionById(hotId).orElseThrow();
+        return mockMvc.perform(get("/api/employee/{id}", hotId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + version + "\"")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult updateEmployee() throws Exception {
+        return mockMvc.perform(put("/api/employee/{id}", hotId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updateJson)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult patchEmployee() throws Exception {
+        return mockMvc.perform(patch("/api/employee/{id}", hotId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"patched\"}")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult deleteEmployee() throws Exception {
+        Employee employee = employeeRepository.findById(hotId).orElseThrow();
+        MvcResult result = mockMvc.perform(delete("/api/employee/{id}", hotId)).andReturn();
+        employeeRepository.save(employee);
+        return result;
+    }
+
+    // every write benchmark restores the seeded rows, so list payloads stay comparable across runs
+    @TearDown
+    public void verifyRows() {
+        List<Employee> employees = employeeRepository.findAll();
+        if (employees.size() != rows) {
+            throw new IllegalStateException("benchmark changed the table size to " + employees.size());
+        }
+    }
+}
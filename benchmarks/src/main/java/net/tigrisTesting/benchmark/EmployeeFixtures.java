@@ -0,0 +1,93 @@
+package net.tigrisTesting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import net.tigrisTesting.cache.EmailBloomFilter;
+import net.tigrisTesting.cache.EmployeeSearchIndex;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeBatchRepository;
+import net.tigrisTesting.repository.EmployeeRepository;
+import net.tigrisTesting.service.EmployeeService;
+import net.tigrisTesting.service.impl.EmployeeServiceImpl;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+final class EmployeeFixtures {
+
+    private EmployeeFixtures() {
+    }
+
+    // same defaults spring boot applies to the application ObjectMapper
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static Employee employee(long id) {
+        return Employee.builder()
+                .id(id)
+                .firstName("first" + id)
+                .lastName("last" + id)
+                .email("employee" + id + "@mail.com")
+                .version(0L)
+                .build();
+    }
+
+    static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            employees.add(employee(i));
+        }
+        return employees;
+    }
+
+    // real service implementation over the in-memory repository, seeded with rows ids 1..rows.
+    // name search and field selection need the criteria api and are not covered
+    static EmployeeService service(EmployeeRepository repository, int rows) {
+        for (int i = 1; i <= rows; i++) {
+            Employee employee = employee(0);
+            employee.setEmail("employee" + i + "@mail.com");
+            repository.save(employee);
+        }
+        EmailBloomFilter emailBloomFilter = new EmailBloomFilter(Math.max(rows, 1000) * 4L, 0.01);
+        repository.findAll().forEach(employee -> emailBloomFilter.put(employee.getEmail()));
+        emailBloomFilter.markWarm();
+        EmployeeSearchIndex searchIndex = new EmployeeSearchIndex(0.4);
+        repository.findAll().forEach(employee -> searchIndex.load(employee.getId(), employee.getFirstName(),
+                employee.getLastName(), employee.getEmail()));
+        searchIndex.markWarm();
+        return new EmployeeServiceImpl(repository, new InMemoryBatchRepository(repository), null, null, emailBloomFilter,
+                searchIndex, new NoOpCacheManager(), detachingEntityManager(), new SimpleMeterRegistry(),
+                null);
+    }
+
+    // the service only calls detach during exports
+    private static EntityManager detachingEntityManager() {
+        return (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("detach")) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static final class InMemoryBatchRepository extends EmployeeBatchRepository {
+
+        private final EmployeeRepository repository;
+
+        InMemoryBatchRepository(EmployeeRepository repository) {
+            super(null, null, 500);
+            this.repository = repository;
+        }
+
+        @Override
+        public void insertBatch(List<Employee> employees) {
+            employees.forEach(repository::save);
+        }
+    }
+}
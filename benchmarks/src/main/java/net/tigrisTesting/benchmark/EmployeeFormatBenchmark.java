@@ -0,0 +1,82 @@
+package net.tigrisTesting.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.tigrisTesting.converter.EmployeeProtobuf;
+import net.tigrisTesting.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// List<Employee> in every response format EmployeeController negotiates: encode and decode cost per
+// format, payload size (plain and gzipped) is printed once per trial
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeFormatBenchmark {
+
+    public enum Format {
+        JSON, SMILE, CBOR, PROTOBUF
+    }
+
+    @Param({"JSON", "SMILE", "CBOR", "PROTOBUF"})
+    private Format format;
+
+    @Param({"100", "10000"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private JavaType listType;
+    private EmployeeProtobuf employeeProtobuf;
+    private List<Employee> employees;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = switch (format) {
+            case SMILE -> Jackson2ObjectMapperBuilder.smile().build();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> EmployeeFixtures.objectMapper();
+        };
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class);
+        employeeProtobuf = new EmployeeProtobuf();
+        employees = EmployeeFixtures.employees(listSize);
+        payload = encode();
+        System.out.printf("%n%s, %d employees: %d bytes, %d bytes gzipped%n", format, listSize, payload.length, gzipped(payload));
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if (format == Format.PROTOBUF) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(listSize * 64);
+            employeeProtobuf.writeEmployees(employees, out);
+            return out.toByteArray();
+        }
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> decode() throws IOException {
+        if (format == Format.PROTOBUF) {
+            return employeeProtobuf.readEmployees(new ByteArrayInputStream(payload));
+        }
+        return objectMapper.readValue(payload, listType);
+    }
+
+    private static int gzipped(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,60 @@
+package net.tigrisTesting.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.tigrisTesting.model.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson (de)serialization of Employee and of List<Employee> payloads as returned by getAllEmployees
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeJsonBenchmark {
+
+    @Param({"100", "10000"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private JavaType listType;
+    private Employee employee;
+    private byte[] employeeJson;
+    private List<Employee> employees;
+    private byte[] employeesJson;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = EmployeeFixtures.objectMapper();
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class);
+        employee = EmployeeFixtures.employee(1);
+        employeeJson = objectMapper.writeValueAsBytes(employee);
+        employees = EmployeeFixtures.employees(listSize);
+        employeesJson = objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws IOException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws IOException {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> deserializeEmployeeList() throws IOException {
+        return objectMapper.readValue(employeesJson, listType);
+    }
+}
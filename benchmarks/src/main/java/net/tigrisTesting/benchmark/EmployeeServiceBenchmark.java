@@ -0,0 +1,67 @@
+package net.tigrisTesting.benchmark;
+
+import net.tigrisTesting.dto.EmployeePage;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeRepository;
+import net.tigrisTesting.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// EmployeeServiceImpl over the in-memory repository: service logic cost without database i/o
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeService employeeService;
+    private final AtomicLong emails = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        employeeRepository = InMemoryEmployeeRepository.create();
+        employeeService = EmployeeFixtures.service(employeeRepository, rows);
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        Employee employee = EmployeeFixtures.employee(0);
+        employee.setEmail("new" + emails.incrementAndGet() + "@mail.com");
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        // keep the table size stable between invocations
+        employeeRepository.deleteEmployeeById(savedEmployee.getId());
+        return savedEmployee;
+    }
+
+    @Benchmark
+    public List<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public EmployeePage getEmployeePage() {
+        return employeeService.getEmployeePage(null, 100);
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeService.getEmployeeById(rows / 2);
+    }
+
+    @Benchmark
+    public Employee updateEmployee() {
+        Employee employee = EmployeeFixtures.employee(rows / 2);
+        employee.setEmail("employee" + rows / 2 + "@mail.com");
+        return employeeService.updateEmployee(employee);
+    }
+}
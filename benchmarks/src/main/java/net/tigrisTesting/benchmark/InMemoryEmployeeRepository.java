@@ -0,0 +1,129 @@
+package net.tigrisTesting.benchmark;
+
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// map backed stand-in for the spring data repository, so benchmarks measure our code and not MySQL.
+// only the methods the service layer calls are implemented
+public class InMemoryEmployeeRepository implements InvocationHandler {
+
+    private final ConcurrentSkipListMap<Long, Employee> employees = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public static EmployeeRepository create() {
+        return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                new Class<?>[]{EmployeeRepository.class}, new InMemoryEmployeeRepository());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "save":
+                return save((Employee) args[0]);
+            case "findById":
+                return Optional.ofNullable(employees.get((Long) args[0]));
+            case "findAll":
+                return new ArrayList<>(employees.values());
+            case "count":
+                return (long) employees.size();
+            case "deleteAll":
+                employees.clear();
+                return null;
+            case "findByEmail":
+                return findByEmail((String) args[0]);
+            case "findExistingEmails":
+                return ((Collection<?>) args[0]).stream().filter(email -> findByEmail((String) email) != null).toList();
+            case "findByIdGreaterThanOrderByIdAsc":
+                return page((Long) args[0], (Pageable) args[1]);
+            case "streamAllBy":
+                return employees.values().stream();
+            case "streamAllEmails":
+                return employees.values().stream().map(Employee::getEmail);
+            case "findVersionById":
+                return Optional.ofNullable(employees.get((Long) args[0])).map(Employee::getVersion);
+            case "updateById":
+                return update((Long) args[0], (String) args[1], (String) args[2], (String) args[3], (Long) args[4], false);
+            case "patchById":
+                return update((Long) args[0], (String) args[1], (String) args[2], (String) args[3], (Long) args[4], true);
+            case "deleteEmployeeById":
+                return employees.remove((Long) args[0]) == null ? 0 : 1;
+            case "patchByIds":
+                return patchByIds((Collection<?>) args[0], (String) args[1], (String) args[2]);
+            case "deleteByIds":
+                return (int) ((Collection<?>) args[0]).stream().filter(id -> employees.remove(id) != null).count();
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryEmployeeRepository";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    private Employee save(Employee employee) {
+        if (employee.getId() == 0) {
+            employee.setId(sequence.incrementAndGet());
+            employee.setVersion(0L);
+        }
+        employees.put(employee.getId(), employee);
+        return employee;
+    }
+
+    private Employee findByEmail(String email) {
+        for (Employee employee : employees.values()) {
+            if (employee.getEmail().equals(email)) {
+                return employee;
+            }
+        }
+        return null;
+    }
+
+    private SliceImpl<Employee> page(long afterId, Pageable pageable) {
+        List<Employee> content = new ArrayList<>(pageable.getPageSize() + 1);
+        for (Employee employee : employees.tailMap(afterId, false).values()) {
+            content.add(employee);
+            if (content.size() > pageable.getPageSize()) {
+                break;
+            }
+        }
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private int patchByIds(Collection<?> ids, String firstName, String lastName) {
+        int updated = 0;
+        for (Object id : ids) {
+            updated += update((Long) id, firstName, lastName, null, null, true);
+        }
+        return updated;
+    }
+
+    private int update(long id, String firstName, String lastName, String email, Long version, boolean keepNulls) {
+        Employee employee = employees.get(id);
+        if (employee == null || (version != null && !version.equals(employee.getVersion()))) {
+            return 0;
+        }
+        if (!keepNulls || firstName != null) {
+            employee.setFirstName(firstName);
+        }
+        if (!keepNulls || lastName != null) {
+            employee.setLastName(lastName);
+        }
+        if (!keepNulls || email != null) {
+            employee.setEmail(email);
+        }
+        employee.setVersion(employee.getVersion() + 1);
+        return 1;
+    }
+}
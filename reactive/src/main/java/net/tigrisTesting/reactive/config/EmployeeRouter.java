@@ -0,0 +1,30 @@
+package net.tigrisTesting.reactive.config;
+
+import net.tigrisTesting.reactive.handler.EmployeeHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+// the /api/employee/ contract of the servlet EmployeeController. {id} only matches digits so a
+// non numeric path is a 404 rather than a parse error
+@Configuration
+public class EmployeeRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> employeeRoutes(EmployeeHandler employeeHandler) {
+        return route()
+                .path("/api/employee", builder -> builder
+                        .POST("/", employeeHandler::createEmployee)
+                        .GET("/", queryParam("limit", limit -> true), employeeHandler::getEmployeePage)
+                        .GET("/", employeeHandler::getAllEmployees)
+                        .GET("/{id:\\d+}", employeeHandler::getEmployeeById)
+                        .PUT("/{id:\\d+}", employeeHandler::updateEmployee)
+                        .PATCH("/{id:\\d+}", employeeHandler::patchEmployee)
+                        .DELETE("/{id:\\d+}", employeeHandler::deleteEmployee))
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package net.tigrisTesting.reactive.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ResourceNotFoundException extends RuntimeException{
+
+    public ResourceNotFoundException(String message){
+        super(message);
+    }
+
+    public ResourceNotFoundException(String message,Throwable cause){
+        super(message,cause);
+    }
+}
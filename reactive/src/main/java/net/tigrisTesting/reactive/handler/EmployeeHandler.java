@@ -0,0 +1,107 @@
+package net.tigrisTesting.reactive.handler;
+
+import net.tigrisTesting.reactive.model.Employee;
+import net.tigrisTesting.reactive.service.EmployeeService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+// functional counterpart of EmployeeController, same paths, statuses and ETag rules
+@Component
+public class EmployeeHandler {
+
+    private EmployeeService employeeService;
+
+    public EmployeeHandler(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    public Mono<ServerResponse> createEmployee(ServerRequest request) {
+        return request.bodyToMono(Employee.class)
+                .flatMap(employeeService::saveEmployee)
+                .flatMap(savedEmployee -> ServerResponse.status(HttpStatus.CREATED).bodyValue(savedEmployee));
+    }
+
+    // the array (or ndjson lines) is encoded element by element while rows arrive, demand from the
+    // connection flows back to the query so the response never holds the whole table
+    public Mono<ServerResponse> getAllEmployees(ServerRequest request) {
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(mediaType).body(employeeService.getAllEmployees(), Employee.class);
+    }
+
+    public Mono<ServerResponse> getEmployeePage(ServerRequest request) {
+        int limit;
+        try {
+            limit = Integer.parseInt(request.queryParam("limit").orElseThrow());
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return employeeService.getEmployeePage(request.queryParam("after").orElse(null), limit)
+                .flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    // revalidation compares versions first, so a 304 never loads or serializes the employee
+    public Mono<ServerResponse> getEmployeeById(ServerRequest request) {
+        long employeeId = employeeId(request);
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+
+        Mono<ServerResponse> load = employeeService.getEmployeeById(employeeId)
+                .flatMap(this::withETag)
+                .switchIfEmpty(ServerResponse.notFound().build());
+        if (ifNoneMatch == null) {
+            return load;
+        }
+        return employeeService.getEmployeeVersion(employeeId)
+                .flatMap(version -> EmployeeETags.matchesAny(ifNoneMatch, version)
+                        ? ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(EmployeeETags.of(version)).build()
+                        : load)
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    // missing ids surface as ResourceNotFoundException (404), stale If-Match as PreconditionFailedException (412)
+    public Mono<ServerResponse> updateEmployee(ServerRequest request) {
+        long employeeId = employeeId(request);
+        Long expectedVersion = EmployeeETags.expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+
+        return request.bodyToMono(Employee.class)
+                .flatMap(employee -> {
+                    employee.setId(employeeId);
+                    return expectedVersion == null
+                            ? employeeService.updateEmployee(employee).flatMap(updatedEmployee -> ServerResponse.ok().bodyValue(updatedEmployee))
+                            : employeeService.updateEmployee(employee, expectedVersion).flatMap(this::withETag);
+                });
+    }
+
+    // only the fields present in the body are changed
+    public Mono<ServerResponse> patchEmployee(ServerRequest request) {
+        long employeeId = employeeId(request);
+        Long expectedVersion = EmployeeETags.expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+
+        return request.bodyToMono(Employee.class)
+                .flatMap(patch -> expectedVersion == null
+                        ? employeeService.patchEmployee(employeeId, patch).then(ServerResponse.noContent().build())
+                        : employeeService.patchEmployee(employeeId, patch, expectedVersion)
+                                .flatMap(version -> ServerResponse.noContent().eTag(EmployeeETags.of(version)).build()));
+    }
+
+    public Mono<ServerResponse> deleteEmployee(ServerRequest request) {
+        return employeeService.deleteEmployee(employeeId(request))
+                .then(ServerResponse.ok().contentType(MediaType.TEXT_PLAIN).bodyValue("Employee deleted successfully!"));
+    }
+
+    private Mono<ServerResponse> withETag(Employee employee) {
+        if (employee.getVersion() == null) {
+            return ServerResponse.ok().bodyValue(employee);
+        }
+        return ServerResponse.ok().eTag(EmployeeETags.of(employee.getVersion())).bodyValue(employee);
+    }
+
+    private static long employeeId(ServerRequest request) {
+        return Long.parseLong(request.pathVariable("id"));
+    }
+}
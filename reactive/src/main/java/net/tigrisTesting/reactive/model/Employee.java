@@ -0,0 +1,29 @@
+package net.tigrisTesting.reactive.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+// same table as the jpa entity of the servlet application, columns map through the default
+// snake case naming (firstName -> first_name)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table("employee")
+public class Employee {
+
+    @Id
+    private long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+
+    // optimistic lock and ETag source, clients send it back through If-Match rather than the body
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+}
@@ -0,0 +1,54 @@
+package net.tigrisTesting.reactive.repository;
+
+import net.tigrisTesting.reactive.model.Employee;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface EmployeeRepository extends ReactiveCrudRepository<Employee,Long> {
+
+    public Mono<Boolean> existsByEmail(String email);
+
+    // keyset page: seeks past the last seen id on the primary key, never uses OFFSET or a count query
+    @Query("select * from employee where id > :id order by id limit :limit")
+    public Flux<Employee> findPageAfter(long id, int limit);
+
+    // rows are emitted as the driver decodes them, in primary key order
+    @Query("select * from employee order by id")
+    public Flux<Employee> findAllOrderById();
+
+    // version only lookup for conditional requests
+    @Query("select coalesce(version, 0) from employee where id = :id")
+    public Mono<Long> findVersionById(long id);
+
+    // set based writes: one statement, no prior select, affected rows tell whether the id exists.
+    // the ...AndVersion variants are the conditional (If-Match) writes, every write bumps the version.
+    // rows from before the version column read as version 0 until the servlet application's startup backfill reaches them
+    @Modifying
+    @Query("update employee set first_name = :firstName, last_name = :lastName, email = :email, " +
+            "version = coalesce(version, 0) + 1 where id = :id")
+    public Mono<Integer> updateById(long id, String firstName, String lastName, String email);
+
+    @Modifying
+    @Query("update employee set first_name = :firstName, last_name = :lastName, email = :email, " +
+            "version = coalesce(version, 0) + 1 where id = :id and coalesce(version, 0) = :version")
+    public Mono<Integer> updateByIdAndVersion(long id, String firstName, String lastName, String email, long version);
+
+    // null arguments keep the stored value
+    @Modifying
+    @Query("update employee set first_name = coalesce(:firstName, first_name), last_name = coalesce(:lastName, last_name), " +
+            "email = coalesce(:email, email), version = coalesce(version, 0) + 1 where id = :id")
+    public Mono<Integer> patchById(long id, String firstName, String lastName, String email);
+
+    @Modifying
+    @Query("update employee set first_name = coalesce(:firstName, first_name), last_name = coalesce(:lastName, last_name), " +
+            "email = coalesce(:email, email), version = coalesce(version, 0) + 1 " +
+            "where id = :id and coalesce(version, 0) = :version")
+    public Mono<Integer> patchByIdAndVersion(long id, String firstName, String lastName, String email, long version);
+
+    @Modifying
+    @Query("delete from employee where id = :id")
+    public Mono<Integer> deleteEmployeeById(long id);
+}
@@ -0,0 +1,37 @@
+package net.tigrisTesting.reactive.service;
+
+import net.tigrisTesting.reactive.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// opaque keyset cursor: url-safe base64 of the last id the client has seen, the same format
+// as the servlet application so a cursor can be continued on either of them
+public final class EmployeeCursor {
+
+    private static final String PREFIX = "id:";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private EmployeeCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return ENCODER.encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null or blank cursor means "start from the beginning"
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new BadRequestException("Invalid cursor :" + cursor);
+            }
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor :" + cursor, e);
+        }
+    }
+}
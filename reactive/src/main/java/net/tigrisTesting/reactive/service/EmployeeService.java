@@ -0,0 +1,25 @@
+package net.tigrisTesting.reactive.service;
+
+import net.tigrisTesting.reactive.dto.EmployeePage;
+import net.tigrisTesting.reactive.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface EmployeeService {
+
+    public Mono<Employee> saveEmployee(Employee employee);
+    public Flux<Employee> getAllEmployees();
+    public Mono<EmployeePage> getEmployeePage(String after, int limit);
+    // empty when the id does not exist
+    public Mono<Employee> getEmployeeById(long id);
+    public Mono<Long> getEmployeeVersion(long id);
+
+    public Mono<Employee> updateEmployee(Employee employee);
+    public Mono<Employee> updateEmployee(Employee employee, long expectedVersion);
+
+    public Mono<Void> patchEmployee(long id, Employee patch);
+    // emits the new version
+    public Mono<Long> patchEmployee(long id, Employee patch, long expectedVersion);
+
+    public Mono<Void> deleteEmployee(long id);
+}
@@ -0,0 +1,152 @@
+package net.tigrisTesting.reactive.service.impl;
+
+import net.tigrisTesting.reactive.dto.EmployeePage;
+import net.tigrisTesting.reactive.exception.BadRequestException;
+import net.tigrisTesting.reactive.exception.DuplicateEmailException;
+import net.tigrisTesting.reactive.exception.PreconditionFailedException;
+import net.tigrisTesting.reactive.exception.ResourceNotFoundException;
+import net.tigrisTesting.reactive.model.Employee;
+import net.tigrisTesting.reactive.repository.EmployeeRepository;
+import net.tigrisTesting.reactive.service.EmployeeCursor;
+import net.tigrisTesting.reactive.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class EmployeeServiceImpl implements EmployeeService {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private EmployeeRepository employeeRepository;
+    private int prefetch;
+
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository,
+                               @Value("${employee.stream.prefetch:256}") int prefetch) {
+        this.employeeRepository = employeeRepository;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+
+        // the unique index is the real guard, the lookup only gives the common case a clean 409
+        return employeeRepository.existsByEmail(employee.getEmail())
+                .flatMap(exists -> exists
+                        ? Mono.<Employee>error(new DuplicateEmailException(employee.getEmail()))
+                        : employeeRepository.save(employee))
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new DuplicateEmailException(employee.getEmail(), e));
+    }
+
+    // rows are requested from the driver in batches of employee.stream.prefetch as the client
+    // consumes them, a slow reader holds back the query instead of buffering the table in memory
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAllOrderById().limitRate(prefetch);
+    }
+
+    @Override
+    public Mono<EmployeePage> getEmployeePage(String after, int limit) {
+
+        if (limit < 1) {
+            return Mono.error(new BadRequestException("limit must be positive :" + limit));
+        }
+        long afterId;
+        try {
+            afterId = EmployeeCursor.decode(after);
+        } catch (BadRequestException e) {
+            return Mono.error(e);
+        }
+        int size = Math.min(limit, MAX_PAGE_SIZE);
+
+        // one extra row tells whether there is a next page, so no count query is needed
+        return employeeRepository.findPageAfter(afterId, size + 1)
+                .collectList()
+                .map(rows -> {
+                    boolean hasNext = rows.size() > size;
+                    var content = hasNext ? rows.subList(0, size) : rows;
+                    return new EmployeePage(content, hasNext ? EmployeeCursor.encode(content.get(size - 1).getId()) : null);
+                });
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Long> getEmployeeVersion(long id) {
+        return employeeRepository.findVersionById(id);
+    }
+
+    // the new version is unknown without another select, so the returned employee carries none
+    @Override
+    public Mono<Employee> updateEmployee(Employee employee) {
+
+        return written(employeeRepository.updateById(employee.getId(), employee.getFirstName(),
+                        employee.getLastName(), employee.getEmail()), employee.getId(), null, employee.getEmail())
+                .then(Mono.fromSupplier(() -> {
+                    employee.setVersion(null);
+                    return employee;
+                }));
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Employee employee, long expectedVersion) {
+
+        return written(employeeRepository.updateByIdAndVersion(employee.getId(), employee.getFirstName(),
+                        employee.getLastName(), employee.getEmail(), expectedVersion), employee.getId(), expectedVersion,
+                employee.getEmail())
+                .then(Mono.fromSupplier(() -> {
+                    employee.setVersion(expectedVersion + 1);
+                    return employee;
+                }));
+    }
+
+    @Override
+    public Mono<Void> patchEmployee(long id, Employee patch) {
+
+        return written(employeeRepository.patchById(id, patch.getFirstName(), patch.getLastName(), patch.getEmail()),
+                id, null, patch.getEmail());
+    }
+
+    @Override
+    public Mono<Long> patchEmployee(long id, Employee patch, long expectedVersion) {
+
+        return written(employeeRepository.patchByIdAndVersion(id, patch.getFirstName(), patch.getLastName(),
+                        patch.getEmail(), expectedVersion), id, expectedVersion, patch.getEmail())
+                .thenReturn(expectedVersion + 1);
+    }
+
+    @Override
+    public Mono<Void> deleteEmployee(long id) {
+
+        return employeeRepository.deleteEmployeeById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.<Void>error(new ResourceNotFoundException("Employee not found with id :" + id))
+                        : Mono.<Void>empty());
+    }
+
+    // zero rows: either the id is gone or, for conditional writes, someone else changed it first
+    private Mono<Void> written(Mono<Integer> write, long id, Long expectedVersion, String email) {
+
+        return write
+                .onErrorMap(DataIntegrityViolationException.class, e -> new DuplicateEmailException(email, e))
+                .flatMap(updated -> updated > 0 ? Mono.<Void>empty() : notUpdated(id, expectedVersion));
+    }
+
+    private Mono<Void> notUpdated(long id, Long expectedVersion) {
+
+        Mono<Void> notFound = Mono.error(new ResourceNotFoundException("Employee not found with id :" + id));
+        if (expectedVersion == null) {
+            return notFound;
+        }
+        return employeeRepository.findVersionById(id)
+                .flatMap(version -> Mono.<Void>error(
+                        new PreconditionFailedException("Employee " + id + " is no longer at version " + expectedVersion)))
+                .switchIfEmpty(notFound);
+    }
+}
@@ -0,0 +1,326 @@
+package net.tigrisTesting.reactive.integration;
+
+import net.tigrisTesting.reactive.dto.EmployeePage;
+import net.tigrisTesting.reactive.model.Employee;
+import net.tigrisTesting.reactive.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the scenarios of EmployeeControllerITest against the functional routes, on an in-memory database
+// created from the same schema
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeRoutesITest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setup(){
+        employeeRepository.deleteAll().block();
+    }
+
+    private Employee save(String firstName, String lastName, String email) {
+        return employeeRepository.save(Employee.builder().firstName(firstName).lastName(lastName).email(email).build()).block();
+    }
+
+    @Test
+    @DisplayName("create employee answers 201 with the stored employee")
+    public void givenEmployeeObject_whenEmployeeCreate_thenReturnEmployeeObject() {
+        //given --precondition operation
+        Employee employee = Employee.builder()
+                .firstName("bilal")
+                .lastName("yakut")
+                .email("bilal@mail.com")
+                .build();
+
+        //when --action that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employee/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+
+        //then verify the output
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    @DisplayName("create employee with a taken email answers 409")
+    public void givenExistingEmail_whenEmployeeCreate_thenReturn409() {
+        //given --precondition operation
+        save("bilal", "yakut", "bilal@mail.com");
+
+        //when --action that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employee/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Employee.builder().firstName("other").lastName("person").email("bilal@mail.com").build())
+                .exchange();
+
+        //then verify the output
+        response.expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("Test for get All employee Rest Api")
+    public void givenListOfEmployee_whenGetAllEmployees_thenReturnListOfEmployees() {
+        //given --precondition operation
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().firstName("bilal").lastName("yakut").email("bilal@mail.com").build());
+        listOfEmployees.add(Employee.builder().firstName("jenny").lastName("jenny").email("jenn@mail.com").build());
+        employeeRepository.saveAll(listOfEmployees).blockLast();
+
+        //when --action that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employee/").exchange();
+
+        //then verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(listOfEmployees.size());
+    }
+
+    @Test
+    @DisplayName("get all employees as ndjson emits one employee per line in id order")
+    public void givenListOfEmployee_whenGetAllEmployeesAsNdjson_thenStreamEmployees() {
+        //given --precondition operation
+        Employee first = save("bilal", "yakut", "bilal@mail.com");
+        Employee second = save("jenny", "jenny", "jenn@mail.com");
+
+        //when --action that we are going test
+        Flux<Employee> employees = webTestClient.get().uri("/api/employee/")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class)
+                .getResponseBody();
+
+        //then verify the output
+        StepVerifier.create(employees.map(Employee::getId))
+                .expectNext(first.getId(), second.getId())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("keyset pages walk the table with the next cursor")
+    public void givenEmployees_whenGetEmployeePage_thenReturnPagesWithCursor() {
+        //given --precondition operation
+        Employee first = save("bilal", "yakut", "bilal@mail.com");
+        Employee second = save("jenny", "jenny", "jenn@mail.com");
+        Employee third = save("john", "doe", "john@mail.com");
+
+        //when --action that we are going test
+        EmployeePage firstPage = webTestClient.get().uri("/api/employee/?limit=2").exchange()
+                .expectStatus().isOk()
+                .expectBody(EmployeePage.class).returnResult().getResponseBody();
+        EmployeePage lastPage = webTestClient.get().uri("/api/employee/?limit=2&after={after}", firstPage.getNextCursor()).exchange()
+                .expectStatus().isOk()
+                .expectBody(EmployeePage.class).returnResult().getResponseBody();
+
+        //then verify the output
+        assertThat(firstPage.getContent()).extracting(Employee::getId).containsExactly(first.getId(), second.getId());
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(lastPage.getContent()).extracting(Employee::getId).containsExactly(third.getId());
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("GetEmployeeById rest controller operation")
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
+        //given --precondition operation
+        Employee employee = save("bilal", "yakut", "bilal@mail.com");
+
+        //when --action that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employee/{id}", employee.getId()).exchange();
+
+        //then verify the output
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + employee.getVersion() + "\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(employee.getLastName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    @DisplayName("get by id with a current If-None-Match answers 304")
+    public void givenCurrentETag_whenGetEmployeeById_thenReturn304() {
+        //given --precondition operation
+        Employee employee = save("bilal", "yakut", "bilal@mail.com");
+
+        //when --action that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + employee.getVersion() + "\"")
+                .exchange();
+
+        //then verify the output
+        response.expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("get by id of a missing employee answers 404")
+    public void givenMissingEmployeeId_whenGetEmployeeById_thenReturn404() {
+        //when --action that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employee/{id}", 1000L).exchange();
+
+        //then verify the output
+        response.expectStatus().isNotFound();
+    }
+
+    // update employee REST API - positive scenario
+    @Test
+    public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdateEmployeeObject() {
+        // given - precondition or setup
+        Employee savedEmployee = save("bilal", "yakut", "bilal@mail.com");
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Billy")
+                .lastName("ykt")
+                .email("billy@mail.com")
+                .build();
+
+        // when -  action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employee/{id}", savedEmployee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(updatedEmployee.getFirstName())
+                .jsonPath("$.lastName").isEqualTo(updatedEmployee.getLastName())
+                .jsonPath("$.email").isEqualTo(updatedEmployee.getEmail());
+        assertThat(employeeRepository.findById(savedEmployee.getId()).block().getEmail()).isEqualTo("billy@mail.com");
+    }
+
+    // update employee REST API - negative scenario
+    @Test
+    public void givenUpdatedEmployee_whenUpdateEmployee_thenReturn404() {
+        // given - precondition or setup
+        Employee savedEmployee = save("bilal", "yakut", "bilal@mail.com");
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Billy")
+                .lastName("ykt")
+                .email("billy@mail.com")
+                .build();
+
+        // when -  action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employee/{id}", savedEmployee.getId() + 1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("update with a stale If-Match answers 412 and keeps the row")
+    public void givenStaleETag_whenUpdateEmployee_thenReturn412() {
+        // given - precondition or setup
+        Employee savedEmployee = save("bilal", "yakut", "bilal@mail.com");
+        Employee updatedEmployee = Employee.builder().firstName("Billy").lastName("ykt").email("billy@mail.com").build();
+
+        // when -  action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employee/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + (savedEmployee.getVersion() + 1) + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isEqualTo(412);
+        assertThat(employeeRepository.findById(savedEmployee.getId()).block().getEmail()).isEqualTo("bilal@mail.com");
+    }
+
+    @Test
+    @DisplayName("patch with the current If-Match changes only the given fields and answers the new ETag")
+    public void givenCurrentETag_whenPatchEmployee_thenReturn204WithNewETag() {
+        // given - precondition or setup
+        Employee savedEmployee = save("bilal", "yakut", "bilal@mail.com");
+
+        // when -  action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.patch().uri("/api/employee/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + savedEmployee.getVersion() + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"lastName\":\"ykt\"}")
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isNoContent()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + (savedEmployee.getVersion() + 1) + "\"");
+        Employee patched = employeeRepository.findById(savedEmployee.getId()).block();
+        assertThat(patched.getFirstName()).isEqualTo("bilal");
+        assertThat(patched.getLastName()).isEqualTo("ykt");
+        assertThat(patched.getVersion()).isEqualTo(savedEmployee.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("a null version reads as 0 and a conditional patch bumps it to 1")
+    public void givenNullVersion_whenRevalidateAndPatch_thenVersionUsable() {
+        //given --precondition operation
+        // a table created before the version column was declared not null
+        databaseClient.sql("alter table employee alter column version set null").then().block();
+        try {
+            databaseClient.sql("insert into employee (email, first_name, last_name, version) values ('old@mail.com', 'old', 'row', null)")
+                    .then().block();
+            long oldId = databaseClient.sql("select id from employee where email = 'old@mail.com'")
+                    .map(row -> row.get("id", Long.class)).one().block();
+
+            //when --action that we are going test
+            WebTestClient.ResponseSpec revalidation = webTestClient.get().uri("/api/employee/{id}", oldId)
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                    .exchange();
+            WebTestClient.ResponseSpec patch = webTestClient.patch().uri("/api/employee/{id}", oldId)
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"lastName\":\"ykt\"}")
+                    .exchange();
+
+            //then verify the output
+            revalidation.expectStatus().isNotModified();
+            patch.expectStatus().isNoContent()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+            assertThat(employeeRepository.findVersionById(oldId).block()).isEqualTo(1L);
+        } finally {
+            employeeRepository.deleteAll().block();
+            databaseClient.sql("alter table employee alter column version set not null").then().block();
+        }
+    }
+
+    //test for delete employee Rest Api
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenReturn200() {
+        //given --precondition operation
+        Employee savedEmployee = save("bilal", "yakut", "bilal@mail.com");
+
+        //when --action that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/employee/{id}", savedEmployee.getId()).exchange();
+
+        //then verify the output
+        response.expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Employee deleted successfully!");
+        assertThat(employeeRepository.existsById(savedEmployee.getId()).block()).isFalse();
+    }
+}
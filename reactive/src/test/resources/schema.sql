@@ -0,0 +1,12 @@
+-- the employee table as the servlet application's hibernate ddl creates it
+create table if not exists employee (
+    id bigint auto_increment primary key,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    version bigint default 0 not null,
+    constraint uk_employee_email unique (email)
+);
+create index if not exists idx_employee_last_first_id on employee (last_name, first_name, id);
+create index if not exists idx_employee_last_id on employee (last_name, id);
+create index if not exists idx_employee_first_id on employee (first_name, id);
@@ -0,0 +1,59 @@
+package net.tigrisTesting.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.ConcurrentMap;
+
+// read-through fill of a spring cache that a concurrent write cannot undo. the loader puts a lease
+// under the key before it loads, a write evicting the key after commit drops the lease, and the
+// loaded value only replaces that same lease: a row read before the write is never cached after
+// the write's eviction. leases read as misses. only caffeine and concurrent map caches take leases
+public final class CacheLease {
+
+    private final ConcurrentMap<Object, Object> entries;
+    private final Object key;
+
+    private CacheLease(ConcurrentMap<Object, Object> entries, Object key) {
+        this.entries = entries;
+        this.key = key;
+    }
+
+    // null for a miss and for a key that is being loaded
+    public static <T> T get(Cache cache, Object key, Class<T> type) {
+        Cache.ValueWrapper cached = cache == null ? null : cache.get(key);
+        return cached != null && type.isInstance(cached.get()) ? type.cast(cached.get()) : null;
+    }
+
+    // null when the cache cannot take leases or another reader is loading the key, the caller
+    // then loads without caching
+    public static CacheLease acquire(Cache cache, Object key) {
+        ConcurrentMap<Object, Object> entries = cache == null ? null : entries(cache);
+        if (entries == null) {
+            return null;
+        }
+        CacheLease lease = new CacheLease(entries, key);
+        return entries.putIfAbsent(key, lease) == null ? lease : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<Object, Object> entries(Cache cache) {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (ConcurrentMap<Object, Object>) caffeine.asMap();
+        }
+        if (nativeCache instanceof ConcurrentMap<?, ?> map) {
+            return (ConcurrentMap<Object, Object>) map;
+        }
+        return null;
+    }
+
+    // caches the value unless the key was evicted since the lease was taken
+    public void fill(Object value) {
+        entries.replace(key, this, value);
+    }
+
+    // no-op once fill replaced the lease
+    public void release() {
+        entries.remove(key, this);
+    }
+}
@@ -0,0 +1,48 @@
+package net.tigrisTesting.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+// serialized employee as sent by GET /api/employee/{id}, with the version its ETag is built from.
+// the buffer is heap or direct (off-heap) and never written to after construction
+public final class EmployeeJson {
+
+    private final ByteBuffer body;
+    private final long version;
+
+    EmployeeJson(byte[] json, long version, boolean offHeap) {
+        if (offHeap) {
+            ByteBuffer direct = ByteBuffer.allocateDirect(json.length);
+            direct.put(json).flip();
+            this.body = direct;
+        } else {
+            this.body = ByteBuffer.wrap(json);
+        }
+        this.version = version;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return body.capacity();
+    }
+
+    public boolean isOffHeap() {
+        return body.isDirect();
+    }
+
+    // heap entries write their array as is. off-heap entries go out through a channel in small
+    // chunks, so no response copies the whole body back onto the heap. a duplicate keeps the
+    // shared buffer's position untouched for concurrent responses
+    public void writeTo(OutputStream out) throws IOException {
+        if (body.hasArray()) {
+            out.write(body.array());
+        } else {
+            Channels.newChannel(out).write(body.duplicate());
+        }
+    }
+}
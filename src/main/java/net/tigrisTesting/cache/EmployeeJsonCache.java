@@ -0,0 +1,96 @@
+package net.tigrisTesting.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.tigrisTesting.model.Employee;
+
+import java.time.Duration;
+
+// ready to send json of single employees, so a hot GET /api/employee/{id} skips serialization.
+// the entries live in the "employeeJson" cache, which the service evicts together with "employees".
+// memory is capped by the summed json size rather than an entry count, heap or off-heap alike
+public class EmployeeJsonCache {
+
+    // per entry bookkeeping on top of the json bytes (key, entry object, buffer header)
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final Cache<Object, Object> cache;
+    private final ObjectWriter writer;
+    private final boolean enabled;
+    private final boolean offHeap;
+
+    public EmployeeJsonCache(Cache<Object, Object> cache, ObjectMapper objectMapper, boolean enabled, boolean offHeap) {
+        this.cache = cache;
+        this.writer = objectMapper.writerFor(Employee.class);
+        this.enabled = enabled;
+        this.offHeap = offHeap;
+    }
+
+    // caffeine cache bounded by maxBytes of json, for CaffeineCacheManager.registerCustomCache
+    public static Cache<Object, Object> caffeine(long maxBytes, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((key, value) -> value instanceof EmployeeJson json ? json.size() + ENTRY_OVERHEAD : ENTRY_OVERHEAD)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Cache<Object, Object> getNativeCache() {
+        return cache;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // an id being loaded holds a lease instead of json, which reads as a miss
+    public EmployeeJson get(long id) {
+        return enabled && cache.getIfPresent(id) instanceof EmployeeJson json ? json : null;
+    }
+
+    // taken before the employee is loaded. any eviction of the id (every write evicts after commit)
+    // drops the lease, and put only replaces its own lease, so json read before a concurrent write
+    // is never cached after the write's eviction. null when disabled or another reader holds the id
+    public Lease lease(long id) {
+        if (!enabled) {
+            return null;
+        }
+        Lease lease = new Lease(id);
+        return cache.asMap().putIfAbsent(id, lease) == null ? lease : null;
+    }
+
+    // serializes with the application's ObjectMapper, so the bytes match what the json converter writes.
+    // only versioned employees can be cached, the version is their ETag. without a lease still held
+    // the json is returned but not cached
+    public EmployeeJson put(Employee employee, Lease lease) throws JsonProcessingException {
+        if (employee.getVersion() == null) {
+            throw new IllegalArgumentException("Employee without version :" + employee.getId());
+        }
+        EmployeeJson json = new EmployeeJson(writer.writeValueAsBytes(employee), employee.getVersion(), offHeap);
+        if (lease != null && lease.id == employee.getId()) {
+            cache.asMap().replace(lease.id, lease, json);
+        }
+        return json;
+    }
+
+    // gives up a lease that was not turned into json, e.g. the employee was not found
+    public void release(Lease lease) {
+        if (lease != null) {
+            cache.asMap().remove(lease.id, lease);
+        }
+    }
+
+    // identity matters: a later reader's lease for the same id is a different one
+    public static final class Lease {
+
+        private final long id;
+
+        private Lease(long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package net.tigrisTesting.cache;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// in-memory trigram index over first name, last name and email for typo tolerant search.
+// every word is padded with a space on both sides and cut into trigrams, postings are sorted
+// int arrays of dense document numbers. a hit's score is the share of query trigrams it contains,
+// equal scores rank the document with fewer trigrams (the tighter match) first. never touches the database
+public class EmployeeSearchIndex {
+
+    private final double minScore;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    // employee id -> document number
+    private final Map<Long, Integer> numbers = new HashMap<>();
+    private Document[] documents = new Document[1024];
+    private int documentCount;
+    private int[] free = new int[16];
+    private int freeCount;
+    private volatile boolean warm;
+    // ids written while the startup load runs: the load read them earlier and must not undo the write
+    private final Set<Long> writtenDuringLoad = new HashSet<>();
+    // patches of ids the startup load has not reached yet, applied on top of the loaded row
+    private final Map<Long, String[]> pendingPatches = new HashMap<>();
+
+    public EmployeeSearchIndex(double minScore) {
+        if (minScore <= 0 || minScore > 1) {
+            throw new IllegalArgumentException("Invalid minimum score :" + minScore);
+        }
+        this.minScore = minScore;
+    }
+
+    // inserts or replaces the employee
+    public void put(long id, String firstName, String lastName, String email) {
+        Document document = new Document(id, firstName, lastName, email);
+        lock.writeLock().lock();
+        try {
+            if (!warm) {
+                writtenDuringLoad.add(id);
+                pendingPatches.remove(id);
+            }
+            insert(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // a row of the startup load, skipped when a write since the load started already decided its state
+    public void load(long id, String firstName, String lastName, String email) {
+        lock.writeLock().lock();
+        try {
+            if (warm || writtenDuringLoad.contains(id)) {
+                return;
+            }
+            String[] patch = pendingPatches.remove(id);
+            if (patch != null) {
+                firstName = patch[0] != null ? patch[0] : firstName;
+                lastName = patch[1] != null ? patch[1] : lastName;
+                email = patch[2] != null ? patch[2] : email;
+            }
+            insert(new Document(id, firstName, lastName, email));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(Document document) {
+        long id = document.id;
+        Integer number = numbers.get(id);
+        if (number != null) {
+            unlink(number);
+        } else {
+            number = freeCount > 0 ? free[--freeCount] : documentCount++;
+            if (number == documents.length) {
+                documents = Arrays.copyOf(documents, number * 2);
+            }
+            numbers.put(id, number);
+        }
+        documents[number] = document;
+        for (long trigram : document.trigrams) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(number);
+        }
+    }
+
+    // null fields keep their indexed value, unknown ids are ignored
+    public void patch(long id, String firstName, String lastName, String email) {
+        lock.writeLock().lock();
+        try {
+            Integer number = numbers.get(id);
+            if (number == null) {
+                if (!warm && !writtenDuringLoad.contains(id)) {
+                    pendingPatches.merge(id, new String[]{firstName, lastName, email}, (earlier, later) -> new String[]{
+                            later[0] != null ? later[0] : earlier[0],
+                            later[1] != null ? later[1] : earlier[1],
+                            later[2] != null ? later[2] : earlier[2]});
+                }
+                return;
+            }
+            Document document = documents[number];
+            put(id, firstName != null ? firstName : document.firstName, lastName != null ? lastName : document.lastName,
+                    email != null ? email : document.email);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            if (!warm) {
+                writtenDuringLoad.add(id);
+                pendingPatches.remove(id);
+            }
+            Integer number = numbers.remove(id);
+            if (number == null) {
+                return;
+            }
+            unlink(number);
+            documents[number] = null;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = number;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // best matching employee ids first, a hit must contain at least minScore of the query trigrams
+    public List<Long> search(String query, int limit) {
+        long[] queryTrigrams = trigrams(query);
+        if (queryTrigrams.length == 0 || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[queryTrigrams.length];
+            int hits = 0;
+            for (int i = 0; i < queryTrigrams.length; i++) {
+                lists[i] = postings.get(queryTrigrams[i]);
+                hits += lists[i] == null ? 0 : lists[i].size;
+            }
+            if (hits == 0) {
+                return List.of();
+            }
+
+            // document number -> shared trigram count in an open addressing table at most half full,
+            // sized to the posting hits so a query allocates in proportion to its matches, not the index
+            int bits = 32 - Integer.numberOfLeadingZeros(hits * 2 - 1);
+            int mask = (1 << bits) - 1;
+            int[] slots = new int[mask + 1];
+            int[] counts = new int[mask + 1];
+            int[] touched = new int[Math.min(hits, documentCount)];
+            int touchedCount = 0;
+            for (Postings list : lists) {
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    int number = list.documents[i];
+                    // fibonacci hashing spreads the dense document numbers, a slot holds number + 1
+                    int slot = (number * 0x9E3779B9) >>> (32 - bits);
+                    while (slots[slot] != 0 && slots[slot] != number + 1) {
+                        slot = (slot + 1) & mask;
+                    }
+                    if (slots[slot] == 0) {
+                        slots[slot] = number + 1;
+                        touched[touchedCount++] = slot;
+                    }
+                    counts[slot]++;
+                }
+            }
+
+            // bounded insertion into a sorted top list, limit is small compared to the candidates
+            Document[] top = new Document[Math.min(limit, touchedCount)];
+            int[] topShared = new int[top.length];
+            int topCount = 0;
+            int minShared = (int) Math.ceil(minScore * queryTrigrams.length);
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                int shared = counts[slot];
+                Document document = documents[slots[slot] - 1];
+                if (shared < minShared || (topCount == top.length
+                        && !ranksBefore(shared, document, topShared[topCount - 1], top[topCount - 1]))) {
+                    continue;
+                }
+                int position = topCount == top.length ? topCount - 1 : topCount++;
+                while (position > 0 && ranksBefore(shared, document, topShared[position - 1], top[position - 1])) {
+                    topShared[position] = topShared[position - 1];
+                    top[position] = top[position - 1];
+                    position--;
+                }
+                topShared[position] = shared;
+                top[position] = document;
+            }
+
+            List<Long> ids = new ArrayList<>(topCount);
+            for (int i = 0; i < topCount; i++) {
+                ids.add(top[i].id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return numbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ends the startup load, later load calls are ignored
+    public void markWarm() {
+        lock.writeLock().lock();
+        try {
+            warm = true;
+            writtenDuringLoad.clear();
+            pendingPatches.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // until the startup load has finished, searches only see employees written since boot
+    public boolean isWarm() {
+        return warm;
+    }
+
+    private void unlink(int number) {
+        for (long trigram : documents[number].trigrams) {
+            Postings list = postings.get(trigram);
+            if (list != null && list.remove(number) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static boolean ranksBefore(int shared, Document document, int otherShared, Document other) {
+        if (shared != otherShared) {
+            return shared > otherShared;
+        }
+        if (document.trigrams.length != other.trigrams.length) {
+            return document.trigrams.length < other.trigrams.length;
+        }
+        return document.id < other.id;
+    }
+
+    // distinct trigrams of all words, three utf-16 chars packed into a long
+    static long[] trigrams(String... fields) {
+        long[] trigrams = new long[32];
+        int count = 0;
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            String text = field.toLowerCase(Locale.ROOT);
+            int start = 0;
+            while (start < text.length()) {
+                while (start < text.length() && !Character.isLetterOrDigit(text.charAt(start))) {
+                    start++;
+                }
+                int end = start;
+                while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+                    end++;
+                }
+                if (end > start) {
+                    // " word " -> " wo", "wor", "ord", "rd "
+                    for (int i = start - 1; i < end - 1; i++) {
+                        char first = i < start ? ' ' : text.charAt(i);
+                        char second = text.charAt(i + 1);
+                        char third = i + 2 < end ? text.charAt(i + 2) : ' ';
+                        if (count == trigrams.length) {
+                            trigrams = Arrays.copyOf(trigrams, count * 2);
+                        }
+                        trigrams[count++] = ((long) first << 32) | ((long) second << 16) | third;
+                    }
+                }
+                start = end;
+            }
+        }
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static final class Document {
+
+        private final long id;
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private final long[] trigrams;
+
+        private Document(long id, String firstName, String lastName, String email) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.trigrams = EmployeeSearchIndex.trigrams(firstName, lastName, email);
+        }
+    }
+
+    // sorted document numbers of one trigram
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+        private int size;
+
+        private void add(int number) {
+            int position = Arrays.binarySearch(documents, 0, size, number);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            System.arraycopy(documents, position, documents, position + 1, size - position);
+            documents[position] = number;
+            size++;
+        }
+
+        private boolean remove(int number) {
+            int position = Arrays.binarySearch(documents, 0, size, number);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(documents, position + 1, documents, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
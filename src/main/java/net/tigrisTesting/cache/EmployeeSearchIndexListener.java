@@ -0,0 +1,35 @@
+package net.tigrisTesting.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import net.tigrisTesting.model.Employee;
+import org.springframework.beans.factory.ObjectProvider;
+
+// keeps EmployeeSearchIndex current for writes that go through the persistence context.
+// hibernate creates it through spring's bean container, jpql and jdbc bulk writes bypass it
+// and are indexed by the service. contexts without an index (e.g. @DataJpaTest) make it a no-op
+public class EmployeeSearchIndexListener {
+
+    private ObjectProvider<EmployeeSearchIndex> employeeSearchIndex;
+
+    public EmployeeSearchIndexListener(ObjectProvider<EmployeeSearchIndex> employeeSearchIndex) {
+        this.employeeSearchIndex = employeeSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void indexEmployee(Employee employee) {
+        long id = employee.getId();
+        String firstName = employee.getFirstName();
+        String lastName = employee.getLastName();
+        String email = employee.getEmail();
+        TransactionCallbacks.afterCommit(() -> employeeSearchIndex.ifAvailable(index -> index.put(id, firstName, lastName, email)));
+    }
+
+    @PostRemove
+    public void removeEmployee(Employee employee) {
+        long id = employee.getId();
+        TransactionCallbacks.afterCommit(() -> employeeSearchIndex.ifAvailable(index -> index.remove(id)));
+    }
+}
@@ -0,0 +1,26 @@
+package net.tigrisTesting.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// in-memory copies of employee data (search index) follow a write only once it is committed,
+// so a rolled back write never shows up in them
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    // runs right away outside a transaction
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
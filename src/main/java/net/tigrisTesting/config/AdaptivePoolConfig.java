@@ -0,0 +1,44 @@
+package net.tigrisTesting.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.tigrisTesting.datasource.AdaptivePoolSizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+// opt-in: employee.pool.adaptive.enabled=true. the pool starts at spring.datasource.hikari.maximum-pool-size
+// and is moved within [min-size, max-size] every interval
+@Configuration
+@ConditionalOnProperty(name = "employee.pool.adaptive.enabled", havingValue = "true")
+public class AdaptivePoolConfig {
+
+    @Bean
+    public AdaptivePoolSizer adaptivePoolSizer(DataSource dataSource, MeterRegistry meterRegistry,
+                                               @Value("${employee.pool.adaptive.min-size:10}") int minSize,
+                                               @Value("${employee.pool.adaptive.max-size:40}") int maxSize,
+                                               @Value("${employee.pool.adaptive.step:2}") int step,
+                                               @Value("${employee.pool.adaptive.target-wait:5ms}") Duration targetWait,
+                                               @Value("${employee.pool.adaptive.max-hold:50ms}") Duration maxHold) throws SQLException {
+        return new AdaptivePoolSizer(dataSource.unwrap(HikariDataSource.class), meterRegistry, minSize, maxSize, step,
+                targetWait, maxHold);
+    }
+
+    // a thread of its own, so a busy application executor never delays the sizing
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskScheduler adaptivePoolScheduler(AdaptivePoolSizer adaptivePoolSizer,
+                                                         @Value("${employee.pool.adaptive.interval:10s}") Duration interval) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("pool-sizer-");
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(adaptivePoolSizer::adjust, interval);
+        return scheduler;
+    }
+}
@@ -0,0 +1,44 @@
+package net.tigrisTesting.config;
+
+import net.tigrisTesting.datasource.ReadYourWrites;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// executor behind EmployeeAsyncService. every task holds a jdbc connection while it runs, so more
+// threads than pooled connections would only wait inside hikari; excess work queues here instead
+// and is rejected (503) once the queue is full
+@Configuration
+public class AsyncConfig {
+
+    public static final String EMPLOYEE_EXECUTOR = "employeeExecutor";
+
+    @Bean(EMPLOYEE_EXECUTOR)
+    public ThreadPoolTaskExecutor employeeExecutor(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                                   @Value("${employee.async.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("employee-db-");
+        // a client inside its read-your-writes window keeps reading from the primary on this pool too
+        executor.setTaskDecorator(ReadYourWrites::propagate);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // any Executor bean switches off boot's default, which mvc async requests (e.g. the export) run on.
+    // VirtualThreadConfig declares it when virtual threads are enabled
+    @Lazy
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnProperty(name = "employee.threads.virtual", havingValue = "false", matchIfMissing = true)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
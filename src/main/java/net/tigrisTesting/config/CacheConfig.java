@@ -0,0 +1,40 @@
+package net.tigrisTesting.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.tigrisTesting.cache.EmployeeJsonCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+// cache sizes and expiry live in application.properties (spring.cache.caffeine.spec),
+// hit/miss/eviction counters are published as cache.* metrics by actuator.
+// caching wraps the transaction advice: hits never open a transaction and evictions run after commit
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String EMPLOYEE_CACHE = "employees";
+    public static final String EMPLOYEE_JSON_CACHE = "employeeJson";
+
+    // registered even when the json cache is disabled, the service evicts it by name on every write
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> employeeJsonCacheCustomizer(EmployeeJsonCache employeeJsonCache) {
+        return cacheManager -> cacheManager.registerCustomCache(EMPLOYEE_JSON_CACHE, employeeJsonCache.getNativeCache());
+    }
+
+    @Bean
+    public EmployeeJsonCache employeeJsonCache(ObjectMapper objectMapper,
+                                               @Value("${employee.json-cache.enabled:false}") boolean enabled,
+                                               @Value("${employee.json-cache.max-size:64MB}") DataSize maxSize,
+                                               @Value("${employee.json-cache.expire-after-write:10m}") Duration expireAfterWrite,
+                                               @Value("${employee.json-cache.off-heap:false}") boolean offHeap) {
+        return new EmployeeJsonCache(EmployeeJsonCache.caffeine(maxSize.toBytes(), expireAfterWrite), objectMapper, enabled, offHeap);
+    }
+}
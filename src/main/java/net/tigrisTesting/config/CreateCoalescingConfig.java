@@ -0,0 +1,37 @@
+package net.tigrisTesting.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.tigrisTesting.cache.EmailBloomFilter;
+import net.tigrisTesting.cache.EmployeeSearchIndex;
+import net.tigrisTesting.repository.EmployeeBatchRepository;
+import net.tigrisTesting.repository.EmployeeRepository;
+import net.tigrisTesting.service.impl.EmployeeCreateCoalescer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+// opt-in: employee.create.coalescing.enabled=true. single creates then wait up to max-wait for
+// company and are committed together, trading a few milliseconds of latency for fewer commits
+@Configuration
+@ConditionalOnProperty(name = "employee.create.coalescing.enabled", havingValue = "true")
+public class CreateCoalescingConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public EmployeeCreateCoalescer employeeCreateCoalescer(EmployeeRepository employeeRepository,
+                                                           EmployeeBatchRepository employeeBatchRepository,
+                                                           EmailBloomFilter emailBloomFilter,
+                                                           EmployeeSearchIndex employeeSearchIndex,
+                                                           PlatformTransactionManager transactionManager,
+                                                           MeterRegistry meterRegistry,
+                                                           @Value("${employee.create.coalescing.max-batch:64}") int maxBatch,
+                                                           @Value("${employee.create.coalescing.max-wait:5ms}") Duration maxWait,
+                                                           @Value("${employee.create.coalescing.queue-capacity:1000}") int queueCapacity,
+                                                           @Value("${employee.create.coalescing.timeout:10s}") Duration timeout) {
+        return new EmployeeCreateCoalescer(employeeRepository, employeeBatchRepository, emailBloomFilter,
+                employeeSearchIndex, transactionManager, meterRegistry, maxBatch, maxWait, queueCapacity, timeout);
+    }
+}
@@ -0,0 +1,37 @@
+package net.tigrisTesting.config;
+
+import net.tigrisTesting.cache.EmailBloomFilter;
+import net.tigrisTesting.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+@Configuration
+public class EmailFilterConfig {
+
+    @Bean
+    public EmailBloomFilter emailBloomFilter(@Value("${employee.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                             @Value("${employee.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        return new EmailBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    // loads every stored email once at startup, writes keep the filter current afterwards
+    @Bean
+    public ApplicationRunner emailBloomFilterWarmUp(EmailBloomFilter emailBloomFilter,
+                                                    EmployeeRepository employeeRepository,
+                                                    PlatformTransactionManager transactionManager) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return args -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+                emails.forEach(emailBloomFilter::put);
+            }
+            emailBloomFilter.markWarm();
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package net.tigrisTesting.config;
+
+import net.tigrisTesting.repository.EmployeeRepository;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+// data fixes ddl-auto=update cannot make: it adds missing columns but never fills them or tightens
+// existing ones, so a version column added to a filled table stays nullable and null
+@Configuration
+public class EmployeeSchemaConfig {
+
+    // runs before the warm-ups, the repository's version writes treat a null left behind as 0
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ApplicationRunner employeeVersionBackfill(EmployeeRepository employeeRepository) {
+        return args -> employeeRepository.backfillVersions();
+    }
+}
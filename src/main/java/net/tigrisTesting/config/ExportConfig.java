@@ -0,0 +1,26 @@
+package net.tigrisTesting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+// GET /api/employee/export streams the whole table inside one mvc async request, which the
+// container would otherwise cut off after its default (30s on tomcat). only the export relies on
+// this default: the /api/async/employee/ endpoints give every request its own employee.async.timeout
+@Configuration
+public class ExportConfig implements WebMvcConfigurer {
+
+    private Duration exportTimeout;
+
+    public ExportConfig(@Value("${employee.export.timeout:1h}") Duration exportTimeout) {
+        this.exportTimeout = exportTimeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(exportTimeout.toMillis());
+    }
+}
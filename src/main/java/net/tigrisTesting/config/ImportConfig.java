@@ -0,0 +1,38 @@
+package net.tigrisTesting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// csv imports: each job reads its file and commits chunks on one import thread, while the chunks
+// ahead of it are decoded and validated on the parse pool. a job cut off by shutdown resumes
+// from its checkpoint when it is started again
+@Configuration
+public class ImportConfig {
+
+    public static final String IMPORT_EXECUTOR = "employeeImportExecutor";
+    public static final String PARSE_EXECUTOR = "employeeImportParseExecutor";
+
+    // no queue, a job beyond max-jobs is rejected (503) rather than waiting for a slot
+    @Bean(IMPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor employeeImportExecutor(@Value("${employee.import.max-jobs:2}") int maxJobs) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxJobs);
+        executor.setMaxPoolSize(maxJobs);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("employee-import-");
+        return executor;
+    }
+
+    // cpu bound, 0 means one thread per core
+    @Bean(PARSE_EXECUTOR)
+    public ThreadPoolTaskExecutor employeeImportParseExecutor(@Value("${employee.import.parse-threads:0}") int parseThreads) {
+        int threads = parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("employee-import-parse-");
+        return executor;
+    }
+}
@@ -0,0 +1,40 @@
+package net.tigrisTesting.config;
+
+import net.tigrisTesting.converter.EmployeeJsonHttpMessageConverter;
+import net.tigrisTesting.converter.EmployeeProtobuf;
+import net.tigrisTesting.converter.EmployeeProtobufHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// binary alternatives to json for service to service callers, picked through the Accept header:
+// application/x-jackson-smile, application/cbor and application/x-protobuf (employee.proto).
+// they go after the json converter, so clients without a preference keep getting json
+@Configuration
+public class ResponseFormatConfig implements WebMvcConfigurer {
+
+    // the builder is a prototype carrying boot's jackson settings, one per mapper
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public ResponseFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // spring adds smile and cbor by itself when they are on the classpath, but with default settings
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.getObject().smile().build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.getObject().cbor().build()));
+        converters.add(new EmployeeProtobufHttpMessageConverter(new EmployeeProtobuf()));
+        // cached json of single employees, ahead of jackson
+        converters.add(0, new EmployeeJsonHttpMessageConverter());
+    }
+}
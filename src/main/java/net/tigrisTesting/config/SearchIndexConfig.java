@@ -0,0 +1,38 @@
+package net.tigrisTesting.config;
+
+import net.tigrisTesting.cache.EmployeeSearchIndex;
+import net.tigrisTesting.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+@Configuration
+public class SearchIndexConfig {
+
+    @Bean
+    public EmployeeSearchIndex employeeSearchIndex(@Value("${employee.search-index.min-score:0.4}") double minScore) {
+        return new EmployeeSearchIndex(minScore);
+    }
+
+    // one pass over the table at startup, entity listeners and the service keep it current afterwards.
+    // writes committed while the pass runs win over the rows it read, see EmployeeSearchIndex.load
+    @Bean
+    public ApplicationRunner employeeSearchIndexWarmUp(EmployeeSearchIndex employeeSearchIndex,
+                                                       EmployeeRepository employeeRepository,
+                                                       PlatformTransactionManager transactionManager) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return args -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<EmployeeRepository.SearchFields> employees = employeeRepository.streamAllSearchFields()) {
+                employees.forEach(employee -> employeeSearchIndex.load(employee.getId(), employee.getFirstName(),
+                        employee.getLastName(), employee.getEmail()));
+            }
+            employeeSearchIndex.markWarm();
+        });
+    }
+}
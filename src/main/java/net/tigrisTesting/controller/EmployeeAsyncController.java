@@ -0,0 +1,151 @@
+package net.tigrisTesting.controller;
+
+import net.tigrisTesting.dto.BulkCreateResult;
+import net.tigrisTesting.dto.EmployeePage;
+import net.tigrisTesting.dto.NameMatch;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.service.EmployeeAsyncService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// same contract as EmployeeController, but the servlet thread is released while the database work
+// runs on the employee executor. a request that does not complete within employee.async.timeout
+// answers 503 and its task is cancelled if it has not started yet
+@RestController
+@RequestMapping("/api/async/employee/")
+public class EmployeeAsyncController {
+
+    private EmployeeAsyncService employeeAsyncService;
+    private Duration timeout;
+
+    public EmployeeAsyncController(EmployeeAsyncService employeeAsyncService,
+                                   @Value("${employee.async.timeout:5s}") Duration timeout) {
+        this.employeeAsyncService = employeeAsyncService;
+        this.timeout = timeout;
+    }
+
+    @PostMapping
+    public DeferredResult<ResponseEntity<Employee>> createEmployee(@RequestBody Employee employee){
+        CompletableFuture<Employee> task = employeeAsyncService.saveEmployee(employee);
+        return deferred(task, task.thenApply(savedEmployee -> new ResponseEntity<>(savedEmployee, HttpStatus.CREATED)));
+    }
+
+    @PostMapping("_bulk")
+    public DeferredResult<BulkCreateResult> createEmployees(@RequestBody List<Employee> employees){
+        return deferred(employeeAsyncService.saveEmployees(employees));
+    }
+
+    @GetMapping
+    public DeferredResult<List<Employee>> getAllEmployees(){
+        return deferred(employeeAsyncService.getAllEmployees());
+    }
+
+    @GetMapping(params = "limit")
+    public DeferredResult<EmployeePage> getEmployeePage(@RequestParam(value = "after", required = false) String after,
+                                                        @RequestParam("limit") int limit){
+        return deferred(employeeAsyncService.getEmployeePage(after, limit));
+    }
+
+    @GetMapping("search")
+    public DeferredResult<EmployeePage> searchEmployees(@RequestParam(value = "firstName", required = false) String firstName,
+                                                        @RequestParam(value = "lastName", required = false) String lastName,
+                                                        @RequestParam(value = "match", defaultValue = "EXACT") NameMatch match,
+                                                        @RequestParam(value = "after", required = false) String after,
+                                                        @RequestParam(value = "limit", defaultValue = "100") int limit){
+        return deferred(employeeAsyncService.searchEmployees(firstName, lastName, match, after, limit));
+    }
+
+    // a matching If-None-Match is answered from the version lookup alone
+    @GetMapping("{id}")
+    public DeferredResult<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") long employeeId,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+
+        if (ifNoneMatch == null) {
+            CompletableFuture<Optional<Employee>> task = employeeAsyncService.getEmployeeById(employeeId);
+            return deferred(task, task.thenApply(this::toResponse));
+        }
+        CompletableFuture<Optional<Long>> task = employeeAsyncService.getEmployeeVersion(employeeId);
+        return deferred(task, task.thenCompose(version -> {
+            if (version.isEmpty()) {
+                return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+            }
+            if (EmployeeETags.matchesAny(ifNoneMatch, version.get())) {
+                return CompletableFuture.completedFuture(
+                        ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EmployeeETags.of(version.get())).build());
+            }
+            return employeeAsyncService.getEmployeeById(employeeId).thenApply(this::toResponse);
+        }));
+    }
+
+    private ResponseEntity<Employee> toResponse(Optional<Employee> employee) {
+        return employee.map(EmployeeETags::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("{id}")
+    public DeferredResult<ResponseEntity<Employee>> updateEmployee(@PathVariable("id") long employeeId,
+                                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                   @RequestBody Employee employee){
+
+        employee.setId(employeeId);
+        Long expectedVersion = EmployeeETags.expectedVersion(ifMatch);
+        if (expectedVersion == null) {
+            CompletableFuture<Employee> task = employeeAsyncService.updateEmployee(employee);
+            return deferred(task, task.thenApply(ResponseEntity::ok));
+        }
+        CompletableFuture<Employee> task = employeeAsyncService.updateEmployee(employee, expectedVersion);
+        return deferred(task, task.thenApply(EmployeeETags::ok));
+    }
+
+    @PatchMapping("{id}")
+    public DeferredResult<ResponseEntity<Void>> patchEmployee(@PathVariable("id") long employeeId,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                              @RequestBody Employee employee){
+
+        Long expectedVersion = EmployeeETags.expectedVersion(ifMatch);
+        if (expectedVersion == null) {
+            CompletableFuture<Void> task = employeeAsyncService.patchEmployee(employeeId, employee);
+            return deferred(task, task.thenApply(done -> ResponseEntity.noContent().build()));
+        }
+        CompletableFuture<Long> task = employeeAsyncService.patchEmployee(employeeId, employee, expectedVersion);
+        return deferred(task, task.thenApply(version -> ResponseEntity.noContent().eTag(EmployeeETags.of(version)).build()));
+    }
+
+    @DeleteMapping("{id}")
+    public DeferredResult<ResponseEntity<String>> deleteEmployee(@PathVariable("id") long employeeId){
+        CompletableFuture<Void> task = employeeAsyncService.deleteEmployee(employeeId);
+        return deferred(task, task.thenApply(done -> new ResponseEntity<>("Employee deleted successfully!", HttpStatus.OK)));
+    }
+
+    private <T> DeferredResult<T> deferred(CompletableFuture<T> task) {
+        return deferred(task, task);
+    }
+
+    // a timeout answers 503 and cancels the executor task itself, cancelling a dependent stage would
+    // leave it queued. service exceptions keep their own status (404, 409, 412, ...)
+    private <T> DeferredResult<T> deferred(CompletableFuture<?> task, CompletableFuture<T> response) {
+        DeferredResult<T> result = new DeferredResult<>(timeout.toMillis());
+        result.onTimeout(() -> {
+            result.setErrorResult(new AsyncRequestTimeoutException());
+            task.cancel(false);
+        });
+        response.whenComplete((value, error) -> {
+            if (error == null) {
+                result.setResult(value);
+            } else {
+                result.setErrorResult(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+        return result;
+    }
+}
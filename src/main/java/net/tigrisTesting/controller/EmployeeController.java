@@ -1,21 +1,48 @@
 package net.tigrisTesting.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import net.tigrisTesting.cache.EmployeeJson;
+import net.tigrisTesting.cache.EmployeeJsonCache;
+import net.tigrisTesting.dto.BulkChangeResult;
+import net.tigrisTesting.dto.BulkCreateResult;
+import net.tigrisTesting.dto.BulkUpdateRequest;
+import net.tigrisTesting.dto.EmployeeFieldPage;
+import net.tigrisTesting.dto.EmployeeFilter;
+import net.tigrisTesting.dto.EmployeePage;
+import net.tigrisTesting.dto.NameMatch;
 import net.tigrisTesting.model.Employee;
 import net.tigrisTesting.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/employee/")
 public class EmployeeController {
     private EmployeeService employeeService;
+    private ObjectMapper objectMapper;
+    private EmployeeJsonCache employeeJsonCache;
 
-    public EmployeeController(EmployeeService employeeService){
+    public EmployeeController(EmployeeService employeeService,ObjectMapper objectMapper,EmployeeJsonCache employeeJsonCache){
         this.employeeService=employeeService;
+        this.objectMapper=objectMapper;
+        this.employeeJsonCache=employeeJsonCache;
     }
 
     @PostMapping()
@@ -25,29 +52,203 @@ public class EmployeeController {
         return employeeService.saveEmployee(employee);
     }
 
+    @PostMapping("_bulk")
+    public BulkCreateResult createEmployees(@RequestBody List<Employee> employees){
+
+        return employeeService.saveEmployees(employees);
+    }
+
+    // by ids or email domain, answers how many rows changed
+    @PostMapping("_bulk_update")
+    public BulkChangeResult updateEmployees(@RequestBody BulkUpdateRequest request){
+
+        return employeeService.updateEmployees(request.getFilter(), request.getFirstName(), request.getLastName());
+    }
+
+    @PostMapping("_bulk_delete")
+    public BulkChangeResult deleteEmployees(@RequestBody EmployeeFilter filter){
+
+        return employeeService.deleteEmployees(filter);
+    }
+
     @GetMapping
     public List<Employee> getAllEmployees(){
         return employeeService.getAllEmployees();
     }
 
+    @GetMapping(params = "limit")
+    public EmployeePage getEmployeePage(@RequestParam(value = "after", required = false) String after,
+                                        @RequestParam("limit") int limit){
+        return employeeService.getEmployeePage(after, limit);
+    }
+
+    // ?fields=id,email selects only those columns, the more specific mapping wins when limit is present too
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllEmployeeFields(@RequestParam("fields") String fields){
+        return employeeService.getAllEmployees(fields);
+    }
+
+    @GetMapping(params = {"limit", "fields"})
+    public EmployeeFieldPage getEmployeeFieldPage(@RequestParam(value = "after", required = false) String after,
+                                                  @RequestParam("limit") int limit,
+                                                  @RequestParam("fields") String fields){
+        return employeeService.getEmployeePage(after, limit, fields);
+    }
+
+    // exact or prefix match on first and/or last name, keyset paged like the list endpoint
+    @GetMapping("search")
+    public EmployeePage searchEmployees(@RequestParam(value = "firstName", required = false) String firstName,
+                                        @RequestParam(value = "lastName", required = false) String lastName,
+                                        @RequestParam(value = "match", defaultValue = "EXACT") NameMatch match,
+                                        @RequestParam(value = "after", required = false) String after,
+                                        @RequestParam(value = "limit", defaultValue = "100") int limit){
+        return employeeService.searchEmployees(firstName, lastName, match, after, limit);
+    }
+
+    // typo tolerant search over names and email, answered from memory with ranked ids
+    @GetMapping("fuzzy")
+    public List<Long> fuzzySearchEmployees(@RequestParam("q") String query,
+                                           @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return employeeService.fuzzySearchEmployees(query, limit);
+    }
+
+    // full table export, rows are written as they are read from the database
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportEmployeesNdjson(){
+        return outputStream -> writeEmployees(outputStream, false);
+    }
+
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody exportEmployeesJson(){
+        return outputStream -> writeEmployees(outputStream, true);
+    }
+
+    private void writeEmployees(OutputStream outputStream, boolean asArray) throws IOException {
+        // let the generator buffer fill up instead of flushing the response after every row
+        ObjectWriter writer = objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (asArray) {
+                generator.writeStartArray();
+            }
+            employeeService.exportEmployees(employee -> {
+                try {
+                    writer.writeValue(generator, employee);
+                    if (!asArray) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (asArray) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    // revalidation compares versions first, so a 304 never loads or serializes the employee.
+    // with the json cache on, json clients are answered from the cached bytes and their version
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId){
-        return employeeService.getEmployeeById(employeeId)
+    public ResponseEntity<?> getEmployeeById(@PathVariable("id") long employeeId,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws IOException {
+
+        boolean cacheJson = employeeJsonCache.isEnabled() && prefersJson(accept);
+        EmployeeJson json = cacheJson ? employeeJsonCache.get(employeeId) : null;
+        if (json != null) {
+            if (EmployeeETags.matchesAny(ifNoneMatch, json.getVersion())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EmployeeETags.of(json.getVersion())).build();
+            }
+            return withETag(json);
+        }
+        if (ifNoneMatch != null) {
+            Optional<Long> version = employeeService.getEmployeeVersion(employeeId);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (EmployeeETags.matchesAny(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EmployeeETags.of(version.get())).build();
+            }
+        }
+        EmployeeJsonCache.Lease lease = cacheJson ? employeeJsonCache.lease(employeeId) : null;
+        try {
+            Optional<Employee> employee = employeeService.getEmployeeById(employeeId);
+            if (employee.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (cacheJson && employee.get().getVersion() != null) {
+                return withETag(employeeJsonCache.put(employee.get(), lease));
+            }
+            return EmployeeETags.ok(employee.get());
+        } finally {
+            // no-op once put turned the lease into json
+            employeeJsonCache.release(lease);
+        }
+    }
+
+    // written by EmployeeJsonHttpMessageConverter from the cached buffer
+    private ResponseEntity<EmployeeJson> withETag(EmployeeJson json) {
+        return ResponseEntity.ok()
+                .eTag(EmployeeETags.of(json.getVersion()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
+    }
+
+    // the cached bytes are json only: use them when the most preferred acceptable type is json
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            // stable, equal qualities keep the order of the header
+            mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+            return !mediaTypes.isEmpty() && mediaTypes.get(0).getQualityValue() > 0
+                    && mediaTypes.get(0).includes(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    // a partial representation carries no ETag, it would collide with the full one
+    @GetMapping(value = "{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getEmployeeFieldsById(@PathVariable("id") long employeeId,
+                                                                     @RequestParam("fields") String fields){
+        return employeeService.getEmployeeById(employeeId, fields)
                 .map(ResponseEntity::ok)
                 .orElseGet(()->ResponseEntity.notFound().build());
     }
 
+    // missing ids surface as ResourceNotFoundException (404), stale If-Match as PreconditionFailedException (412)
     @PutMapping("{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,@RequestBody Employee employee){
-
-        return employeeService.getEmployeeById(employeeId)
-                .map(savedEmployee->{
-                   savedEmployee.setFirstName(employee.getFirstName());
-                   savedEmployee.setLastName(employee.getLastName());
-                   savedEmployee.setEmail(employee.getEmail());
-                 Employee updatedEmployee=  employeeService.updateEmployee(savedEmployee);
-                 return new ResponseEntity<>(updatedEmployee,HttpStatus.OK);
-                }).orElseGet(()->ResponseEntity.notFound().build());
+    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestBody Employee employee){
+
+        employee.setId(employeeId);
+        Long expectedVersion = EmployeeETags.expectedVersion(ifMatch);
+        if (expectedVersion == null) {
+            Employee updatedEmployee = employeeService.updateEmployee(employee);
+            return new ResponseEntity<>(updatedEmployee,HttpStatus.OK);
+        }
+        return EmployeeETags.ok(employeeService.updateEmployee(employee, expectedVersion));
+    }
+
+    // only the fields present in the body are changed
+    @PatchMapping("{id}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable("id") long employeeId,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @RequestBody Employee employee){
+
+        Long expectedVersion = EmployeeETags.expectedVersion(ifMatch);
+        if (expectedVersion == null) {
+            employeeService.patchEmployee(employeeId, employee);
+            return ResponseEntity.noContent().build();
+        }
+        long version = employeeService.patchEmployee(employeeId, employee, expectedVersion);
+        return ResponseEntity.noContent().eTag(EmployeeETags.of(version)).build();
     }
 
     @DeleteMapping("{id}")
@@ -0,0 +1,58 @@
+package net.tigrisTesting.controller;
+
+import net.tigrisTesting.exception.PreconditionFailedException;
+import net.tigrisTesting.model.Employee;
+import org.springframework.http.ResponseEntity;
+
+// strong ETags derived from the employee version column
+final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // 200 with the employee, tagged unless its version is unknown (unconditional update)
+    static ResponseEntity<Employee> ok(Employee employee) {
+        if (employee.getVersion() == null) {
+            return ResponseEntity.ok(employee);
+        }
+        return ResponseEntity.ok().eTag(of(employee.getVersion())).body(employee);
+    }
+
+    // If-None-Match uses weak comparison, so W/ prefixes are ignored
+    static boolean matchesAny(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String etag = of(version);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // null when the write is unconditional (no header or "*")
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"") || value.contains(",")) {
+            throw new PreconditionFailedException("Unsupported If-Match :" + ifMatch);
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Unsupported If-Match :" + ifMatch, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package net.tigrisTesting.controller;
+
+import net.tigrisTesting.dto.EmployeeImportProgress;
+import net.tigrisTesting.model.EmployeeImportStatus;
+import net.tigrisTesting.service.EmployeeImportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+// csv imports of files dropped into employee.import.directory. POST starts the job (or resumes it
+// from its checkpoint) and answers 202 with the progress location, a finished file answers 200
+@RestController
+@RequestMapping("/api/employee/_import")
+public class EmployeeImportController {
+
+    private EmployeeImportService employeeImportService;
+
+    public EmployeeImportController(EmployeeImportService employeeImportService) {
+        this.employeeImportService = employeeImportService;
+    }
+
+    @PostMapping
+    public ResponseEntity<EmployeeImportProgress> startImport(@RequestParam("file") String file){
+        EmployeeImportProgress progress = employeeImportService.startImport(file);
+        if (progress.getStatus() == EmployeeImportStatus.COMPLETED) {
+            return ResponseEntity.ok(progress);
+        }
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{jobId}")
+                        .buildAndExpand(progress.getJobId()).toUri())
+                .body(progress);
+    }
+
+    @GetMapping("{jobId}")
+    public ResponseEntity<EmployeeImportProgress> getProgress(@PathVariable("jobId") String jobId){
+        return employeeImportService.getProgress(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,46 @@
+package net.tigrisTesting.converter;
+
+import net.tigrisTesting.cache.EmployeeJson;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+
+// writes the cached json of GET /api/employee/{id} straight from its heap or off-heap buffer.
+// it has to come before the jackson converter, which would otherwise serialize the wrapper itself
+public class EmployeeJsonHttpMessageConverter extends AbstractHttpMessageConverter<EmployeeJson> {
+
+    public EmployeeJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EmployeeJson.class == clazz;
+    }
+
+    // response only, request bodies are never bound to the cached form
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Long getContentLength(EmployeeJson json, @Nullable MediaType contentType) {
+        return (long) json.size();
+    }
+
+    @Override
+    protected void writeInternal(EmployeeJson json, HttpOutputMessage outputMessage) throws IOException {
+        json.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    protected EmployeeJson readInternal(Class<? extends EmployeeJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Cached employee json is not readable", inputMessage);
+    }
+}
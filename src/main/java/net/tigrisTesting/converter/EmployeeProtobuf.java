@@ -0,0 +1,76 @@
+package net.tigrisTesting.converter;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import net.tigrisTesting.model.Employee;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.List;
+
+// jackson codec for the messages of employee.proto, no generated classes involved.
+// readers and writers are immutable and shared
+public class EmployeeProtobuf {
+
+    private static final String SCHEMA = "/employee.proto";
+
+    private final ObjectWriter employeeWriter;
+    private final ObjectWriter employeeListWriter;
+    private final ObjectReader employeeReader;
+    private final ObjectReader employeeListReader;
+
+    public EmployeeProtobuf() {
+        URL resource = EmployeeProtobuf.class.getResource(SCHEMA);
+        if (resource == null) {
+            throw new IllegalStateException("Missing protobuf schema :" + SCHEMA);
+        }
+        NativeProtobufSchema schema;
+        try {
+            schema = ProtobufSchemaLoader.std.loadNative(resource);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ProtobufMapper mapper = new ProtobufMapper();
+        employeeWriter = mapper.writerFor(Employee.class).with(schema.forType("Employee"));
+        employeeListWriter = mapper.writerFor(EmployeeList.class).with(schema.forType("EmployeeList"));
+        employeeReader = mapper.readerFor(Employee.class).with(schema.forType("Employee"));
+        employeeListReader = mapper.readerFor(EmployeeList.class).with(schema.forType("EmployeeList"));
+    }
+
+    public void writeEmployee(Employee employee, OutputStream out) throws IOException {
+        employeeWriter.writeValue(out, employee);
+    }
+
+    // a list can not be a protobuf root, it goes out wrapped in an EmployeeList message
+    public void writeEmployees(List<Employee> employees, OutputStream out) throws IOException {
+        employeeListWriter.writeValue(out, new EmployeeList(employees));
+    }
+
+    public Employee readEmployee(InputStream in) throws IOException {
+        return employeeReader.readValue(in);
+    }
+
+    public List<Employee> readEmployees(InputStream in) throws IOException {
+        EmployeeList list = employeeListReader.readValue(in);
+        return list.getEmployees() == null ? List.of() : list.getEmployees();
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    static class EmployeeList {
+
+        private List<Employee> employees;
+    }
+}
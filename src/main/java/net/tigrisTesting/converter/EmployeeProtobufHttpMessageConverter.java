@@ -0,0 +1,84 @@
+package net.tigrisTesting.converter;
+
+import net.tigrisTesting.model.Employee;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+// application/x-protobuf for Employee and List<Employee> bodies, anything else is left to the
+// other converters (406 if the client only accepts protobuf)
+public class EmployeeProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final EmployeeProtobuf employeeProtobuf;
+
+    public EmployeeProtobufHttpMessageConverter(EmployeeProtobuf employeeProtobuf) {
+        super(PROTOBUF);
+        this.employeeProtobuf = employeeProtobuf;
+    }
+
+    // the element type of a list is only known to the type aware canRead / canWrite below
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Employee.class == clazz || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return isEmployeeOrList(type) && canRead(mediaType);
+    }
+
+    // a ResponseEntity<?> handler only reveals the body class
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return (clazz == Employee.class || isEmployeeOrList(type != null ? type : clazz)) && canWrite(mediaType);
+    }
+
+    private static boolean isEmployeeOrList(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        if (resolved.resolve() == Employee.class) {
+            return true;
+        }
+        return List.class.isAssignableFrom(resolved.toClass()) && resolved.getGeneric(0).resolve() == Employee.class;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof Employee employee) {
+            employeeProtobuf.writeEmployee(employee, outputMessage.getBody());
+        } else {
+            employeeProtobuf.writeEmployees((List<Employee>) body, outputMessage.getBody());
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        if (ResolvableType.forType(type).resolve() == Employee.class) {
+            return readInternal(Employee.class, inputMessage);
+        }
+        try {
+            return employeeProtobuf.readEmployees(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf employee list :" + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return employeeProtobuf.readEmployee(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf employee :" + e.getMessage(), e, inputMessage);
+        }
+    }
+}
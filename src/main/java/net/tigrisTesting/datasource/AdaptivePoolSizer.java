@@ -0,0 +1,123 @@
+package net.tigrisTesting.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// resizes a hikari pool between minSize and maxSize. every adjust() reads the pool's acquire (wait)
+// and usage (hold) timers since the previous call:
+//  - callers waited longer than targetWait and connections are returned within maxHold: grow by step
+//  - callers waited but the hold time is above maxHold: keep the size, the database itself is slow
+//    and more connections would only queue inside it
+//  - nobody is waiting and on average less than half the pool was in use: shrink by step
+public class AdaptivePoolSizer {
+
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    private static final String USAGE_TIMER = "hikaricp.connections.usage";
+
+    private final HikariDataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final int minSize;
+    private final int maxSize;
+    private final int step;
+    private final double targetWaitMillis;
+    private final double maxHoldMillis;
+
+    private long lastSampleNanos;
+    private long lastWaitCount;
+    private double lastWaitMillis;
+    private long lastHoldCount;
+    private double lastHoldMillis;
+
+    public AdaptivePoolSizer(HikariDataSource dataSource, MeterRegistry meterRegistry, int minSize, int maxSize,
+                             int step, Duration targetWait, Duration maxHold) {
+        if (minSize < 1 || maxSize < minSize || step < 1) {
+            throw new IllegalArgumentException("Invalid pool bounds :" + minSize + ".." + maxSize + " step " + step);
+        }
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.step = step;
+        this.targetWaitMillis = targetWait.toNanos() / 1e6;
+        this.maxHoldMillis = maxHold.toNanos() / 1e6;
+        this.lastSampleNanos = System.nanoTime();
+    }
+
+    // called at a fixed delay, returns the pool size in effect afterwards
+    public synchronized int adjust() {
+        int current = dataSource.getMaximumPoolSize();
+        int next = nextSize(current, sample());
+        if (next != current) {
+            dataSource.getHikariConfigMXBean().setMaximumPoolSize(next);
+            // idle connections above the minimum retire after the idle timeout
+            if (dataSource.getMinimumIdle() > next) {
+                dataSource.getHikariConfigMXBean().setMinimumIdle(next);
+            }
+        }
+        return next;
+    }
+
+    int nextSize(int current, PoolSample sample) {
+        if (current < minSize || current > maxSize) {
+            return Math.max(minSize, Math.min(maxSize, current));
+        }
+        if (sample.getWaitMillis() > targetWaitMillis) {
+            return sample.getHoldMillis() > maxHoldMillis ? current : Math.min(maxSize, current + step);
+        }
+        if (sample.getPending() == 0 && sample.getBusyConnections() < current / 2.0) {
+            return Math.max(minSize, current - step);
+        }
+        return current;
+    }
+
+    // deltas of the hikari timers since the previous sample. the average number of connections in
+    // use is the total hold time divided by the elapsed time (little's law)
+    private PoolSample sample() {
+        long now = System.nanoTime();
+        Timer acquire = timer(ACQUIRE_TIMER);
+        Timer usage = timer(USAGE_TIMER);
+        long waitCount = acquire == null ? 0 : acquire.count();
+        double waitMillis = acquire == null ? 0 : acquire.totalTime(TimeUnit.MILLISECONDS);
+        long holdCount = usage == null ? 0 : usage.count();
+        double holdMillis = usage == null ? 0 : usage.totalTime(TimeUnit.MILLISECONDS);
+        double elapsedMillis = Math.max(1, (now - lastSampleNanos) / 1e6);
+
+        PoolSample sample = new PoolSample(
+                mean(waitMillis - lastWaitMillis, waitCount - lastWaitCount),
+                mean(holdMillis - lastHoldMillis, holdCount - lastHoldCount),
+                (holdMillis - lastHoldMillis) / elapsedMillis,
+                dataSource.getHikariPoolMXBean() == null ? 0 : dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection());
+
+        lastSampleNanos = now;
+        lastWaitCount = waitCount;
+        lastWaitMillis = waitMillis;
+        lastHoldCount = holdCount;
+        lastHoldMillis = holdMillis;
+        return sample;
+    }
+
+    private Timer timer(String name) {
+        return meterRegistry.find(name).tag("pool", dataSource.getPoolName()).timer();
+    }
+
+    private static double mean(double totalMillis, long count) {
+        return count <= 0 ? 0 : totalMillis / count;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static final class PoolSample {
+        // mean time callers waited for a connection
+        private final double waitMillis;
+        // mean time a connection was held before it was returned
+        private final double holdMillis;
+        private final double busyConnections;
+        private final int pending;
+    }
+}
@@ -0,0 +1,28 @@
+package net.tigrisTesting.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// read-only transactions go to the replica, everything else (writes, non transactional calls) to the
+// primary. the key is looked up when the physical connection is fetched, so this has to sit behind a
+// LazyConnectionDataSourceProxy: only then is the transaction's read-only flag already known
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    // a client inside its read-your-writes window reads from the primary until the window has passed
+    public static Route currentRoute() {
+        return route(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    public static Route route(boolean readOnly) {
+        return readOnly && !ReadYourWrites.isPinned() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,38 @@
+package net.tigrisTesting.datasource;
+
+// pins the reads of the current thread to the primary. set by ReadYourWritesFilter for a client that
+// wrote within the window and carried over to the employee executor by propagate()
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    // task decorator: the task sees the pin of the thread that submitted it
+    public static Runnable propagate(Runnable task) {
+        if (!isPinned()) {
+            return task;
+        }
+        return () -> {
+            pin();
+            try {
+                task.run();
+            } finally {
+                unpin();
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package net.tigrisTesting.datasource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// a replica can be behind a write that has just evicted the second level and query caches. a
+// transaction routed to the replica still reads those caches but never fills them, so only rows
+// read from the primary (or written) are cached and a lagging replica cannot put an old row back
+public class ReplicaCacheModeTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        // set on every transaction, an open in view session is shared by the request's transactions
+        CacheMode cacheMode = ReadWriteRoutingDataSource.route(definition.isReadOnly()) == ReadWriteRoutingDataSource.Route.REPLICA
+                ? CacheMode.GET : CacheMode.NORMAL;
+        holder.getEntityManager().unwrap(Session.class).setCacheMode(cacheMode);
+    }
+}
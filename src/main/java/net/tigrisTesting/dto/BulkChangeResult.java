@@ -0,0 +1,15 @@
+package net.tigrisTesting.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkChangeResult {
+
+    // rows updated or deleted, ids that do not exist are not counted
+    private long affected;
+    // statements (and transactions) it took
+    private int chunks;
+}
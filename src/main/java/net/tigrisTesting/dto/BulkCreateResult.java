@@ -0,0 +1,16 @@
+package net.tigrisTesting.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCreateResult {
+
+    private int created;
+    private int failed;
+    private List<BulkItemResult> results;
+}
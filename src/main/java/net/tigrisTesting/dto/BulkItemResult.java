@@ -0,0 +1,24 @@
+package net.tigrisTesting.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemResult {
+
+    // position of the item in the request body
+    private int index;
+    private Long id;
+    private BulkItemStatus status;
+    private String error;
+
+    public static BulkItemResult created(int index, long id) {
+        return new BulkItemResult(index, id, BulkItemStatus.CREATED, null);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, null, BulkItemStatus.FAILED, error);
+    }
+}
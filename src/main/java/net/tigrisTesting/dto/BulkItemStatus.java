@@ -0,0 +1,6 @@
+package net.tigrisTesting.dto;
+
+public enum BulkItemStatus {
+    CREATED,
+    FAILED
+}
@@ -0,0 +1,15 @@
+package net.tigrisTesting.dto;
+
+import lombok.*;
+
+// null names keep the stored value, emails are unique and cannot be set in bulk
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateRequest {
+
+    private EmployeeFilter filter;
+    private String firstName;
+    private String lastName;
+}
@@ -0,0 +1,35 @@
+package net.tigrisTesting.dto;
+
+import lombok.Getter;
+import net.tigrisTesting.model.Employee;
+
+import java.util.function.Function;
+
+// properties that can be picked with ?fields=, named like the json (and entity) properties
+@Getter
+public enum EmployeeField {
+
+    ID("id", Employee::getId),
+    FIRST_NAME("firstName", Employee::getFirstName),
+    LAST_NAME("lastName", Employee::getLastName),
+    EMAIL("email", Employee::getEmail),
+    VERSION("version", Employee::getVersion);
+
+    private final String property;
+    private final Function<Employee, Object> accessor;
+
+    EmployeeField(String property, Function<Employee, Object> accessor) {
+        this.property = property;
+        this.accessor = accessor;
+    }
+
+    // null for an unknown property
+    public static EmployeeField fromProperty(String property) {
+        for (EmployeeField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package net.tigrisTesting.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+// EmployeePage with only the selected fields per employee
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeFieldPage {
+
+    private List<Map<String, Object>> content;
+    // opaque cursor for the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package net.tigrisTesting.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// selects the employees of a bulk update or delete: either a list of ids or an email domain
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeFilter {
+
+    private List<Long> ids;
+    // "example.com" matches every email ending in "@example.com"
+    private String emailDomain;
+}
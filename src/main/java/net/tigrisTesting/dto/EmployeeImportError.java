@@ -0,0 +1,14 @@
+package net.tigrisTesting.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeImportError {
+
+    // 1-based line number in the file, the header is line 1
+    private long line;
+    private String error;
+}
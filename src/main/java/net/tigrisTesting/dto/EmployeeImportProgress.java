@@ -0,0 +1,26 @@
+package net.tigrisTesting.dto;
+
+import lombok.*;
+import net.tigrisTesting.model.EmployeeImportStatus;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeImportProgress {
+
+    private String jobId;
+    private EmployeeImportStatus status;
+    private long fileSize;
+    // committed so far, across all runs of the job
+    private long committedBytes;
+    private long committedLines;
+    private long created;
+    private long failed;
+    // why the job stopped, if it failed
+    private String error;
+    // line errors of the latest run on this instance, capped at employee.import.max-reported-errors
+    private List<EmployeeImportError> errors;
+}
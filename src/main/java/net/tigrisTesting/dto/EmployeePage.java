@@ -0,0 +1,17 @@
+package net.tigrisTesting.dto;
+
+import lombok.*;
+import net.tigrisTesting.model.Employee;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePage {
+
+    private List<Employee> content;
+    // opaque cursor for the next page, null on the last page
+    private String nextCursor;
+}
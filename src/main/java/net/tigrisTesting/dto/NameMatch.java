@@ -0,0 +1,6 @@
+package net.tigrisTesting.dto;
+
+public enum NameMatch {
+    EXACT,
+    PREFIX
+}
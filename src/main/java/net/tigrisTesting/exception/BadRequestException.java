@@ -0,0 +1,16 @@
+package net.tigrisTesting.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException{
+
+    public BadRequestException(String message){
+        super(message);
+    }
+
+    public BadRequestException(String message,Throwable cause){
+        super(message,cause);
+    }
+}
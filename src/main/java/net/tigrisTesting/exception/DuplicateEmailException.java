@@ -0,0 +1,16 @@
+package net.tigrisTesting.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateEmailException extends ResourceNotFoundException{
+
+    public DuplicateEmailException(String email){
+        super("Employee already exist with this mail :" + email);
+    }
+
+    public DuplicateEmailException(String email,Throwable cause){
+        super("Employee already exist with this mail :" + email,cause);
+    }
+}
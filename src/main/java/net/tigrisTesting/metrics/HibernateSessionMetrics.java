@@ -0,0 +1,74 @@
+package net.tigrisTesting.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.hibernate.BaseSessionEventListener;
+
+// per session work counts, hibernate creates one instance for every session it opens
+// (hibernate.session.events.auto). with open-session-in-view a session is one web request, so the
+// summaries read as "statements / flushes / flushed entities / second level cache misses per request".
+// the cumulative session factory statistics (entity loads, query executions, ...) come from the
+// hibernate metrics binder next to them
+public class HibernateSessionMetrics extends BaseSessionEventListener {
+
+    private final MeterRegistry meterRegistry;
+    private int statements;
+    private int batches;
+    private int flushes;
+    private int flushedEntities;
+    private int cacheMisses;
+
+    // used by hibernate, records into the registry spring boot adds to the global composite
+    public HibernateSessionMetrics() {
+        this(Metrics.globalRegistry);
+    }
+
+    HibernateSessionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        batches++;
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flushes++;
+        flushedEntities += numberOfEntities;
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        flushedEntities += numberOfEntities;
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        if (!hit) {
+            cacheMisses++;
+        }
+    }
+
+    @Override
+    public void end() {
+        record("hibernate.session.statements", "jdbc statements executed by the session", statements);
+        record("hibernate.session.batches", "jdbc batches executed by the session", batches);
+        record("hibernate.session.flushes", "flushes of the session", flushes);
+        record("hibernate.session.entities.flushed", "entities checked by the session's flushes", flushedEntities);
+        record("hibernate.session.cache.misses", "second level cache misses of the session", cacheMisses);
+    }
+
+    private void record(String name, String description, int value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .register(meterRegistry)
+                .record(value);
+    }
+}
@@ -1,21 +1,48 @@
 package net.tigrisTesting.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import net.tigrisTesting.cache.EmployeeSearchIndexListener;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "employee")
-@Builder
+// name search indexes: each one holds every column the keyset query reads (names and id),
+// and ends in id so equal names page in id order without a sort
+@Table(name = "employee",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_CONSTRAINT, columnNames = "email"),
+        indexes = {
+                @Index(name = "idx_employee_last_first_id", columnList = "lastName, firstName, id"),
+                @Index(name = "idx_employee_last_id", columnList = "lastName, id"),
+                @Index(name = "idx_employee_first_id", columnList = "firstName, id")
+        })
+@Builder(toBuilder = true)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
+@EntityListeners(EmployeeSearchIndexListener.class)
 public class Employee {
 
+    public static final String CACHE_REGION = "employee";
+    public static final String QUERY_CACHE_REGION = "employee-queries";
+    public static final String EMAIL_CONSTRAINT = "uk_employee_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
     private String firstName;
     private String lastName;
     private String email;
+
+    // optimistic lock and ETag source, clients send it back through If-Match rather than the body
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
@@ -0,0 +1,31 @@
+package net.tigrisTesting.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// checkpoint of a csv import, written in the same transaction as each chunk of inserted employees.
+// everything before committedBytes is done, a rerun of the same unchanged file continues from there
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "employee_import_job")
+@Builder(toBuilder = true)
+public class EmployeeImportJob {
+
+    // the file name inside the import directory
+    @Id
+    private String id;
+    // size and modification time identify the file version the checkpoint belongs to
+    private long fileSize;
+    private long fileModified;
+    private long committedBytes;
+    private long committedLines;
+    private long created;
+    private long failed;
+    @Enumerated(EnumType.STRING)
+    private EmployeeImportStatus status;
+    @Column(length = 1000)
+    private String error;
+}
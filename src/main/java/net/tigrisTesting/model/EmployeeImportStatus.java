@@ -0,0 +1,7 @@
+package net.tigrisTesting.model;
+
+public enum EmployeeImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
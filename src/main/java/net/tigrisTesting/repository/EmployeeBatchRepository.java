@@ -0,0 +1,66 @@
+package net.tigrisTesting.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.tigrisTesting.model.Employee;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+// plain JDBC insert path: the IDENTITY id of Employee disables Hibernate insert batching,
+// so bulk writes go through one executeBatch per chunk (rewritten into a multi-row insert by Connector/J)
+@Repository
+public class EmployeeBatchRepository {
+
+    private static final String INSERT_SQL = "insert into employee (email, first_name, last_name, version) values (?, ?, ?, 0)";
+
+    private JdbcTemplate jdbcTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private int batchSize;
+
+    public EmployeeBatchRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                   @Value("${employee.bulk.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    // inserts the rows in one batch and writes the generated ids back to the given employees.
+    // all or nothing: without a caller transaction the batch gets its own, so a driver that sends the
+    // rows one by one cannot leave part of a failed batch committed
+    @Transactional
+    public void insertBatch(List<Employee> employees) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Employee employee : employees) {
+                    statement.setString(1, employee.getEmail());
+                    statement.setString(2, employee.getFirstName());
+                    statement.setString(3, employee.getLastName());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Employee employee : employees) {
+                        keys.next();
+                        employee.setId(keys.getLong(1));
+                        employee.setVersion(0L);
+                    }
+                }
+            }
+            return null;
+        });
+        // hibernate never saw these rows, so cached query results (e.g. a null findByEmail) are stale now
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(Employee.QUERY_CACHE_REGION);
+    }
+}
@@ -0,0 +1,88 @@
+package net.tigrisTesting.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import net.tigrisTesting.dto.EmployeeField;
+import net.tigrisTesting.model.Employee;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// sparse reads: tuple queries that select only the requested columns. rows come back as maps in the
+// requested field order, no Employee is instantiated, so there is nothing to manage or dirty check
+@Repository
+public class EmployeeFieldRepository {
+
+    private EntityManager entityManager;
+
+    public EmployeeFieldRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public List<Map<String, Object>> findAll(List<EmployeeField> fields) {
+        return select(fields, null, -1);
+    }
+
+    // keyset page in id order, one extra row tells whether there is a next page
+    public Slice<Map<String, Object>> findByIdGreaterThan(long afterId, List<EmployeeField> fields, int limit) {
+        List<Map<String, Object>> rows = select(fields, afterId, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        return new SliceImpl<>(hasNext ? rows.subList(0, limit) : rows, PageRequest.of(0, limit), hasNext);
+    }
+
+    public Optional<Map<String, Object>> findById(long id, List<EmployeeField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        query.multiselect(columns(employee, fields))
+                .where(cb.equal(employee.get("id"), id));
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, fields));
+    }
+
+    private List<Map<String, Object>> select(List<EmployeeField> fields, Long afterId, int maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+
+        List<Predicate> where = new ArrayList<>();
+        if (afterId != null) {
+            where.add(cb.greaterThan(employee.get("id"), afterId));
+        }
+        query.multiselect(columns(employee, fields))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(employee.get("id")));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (maxResults > 0) {
+            typedQuery.setMaxResults(maxResults);
+        }
+        return typedQuery.getResultList().stream().map(tuple -> toMap(tuple, fields)).toList();
+    }
+
+    private static List<Selection<?>> columns(Root<Employee> employee, List<EmployeeField> fields) {
+        return fields.stream().<Selection<?>>map(field -> employee.get(field.getProperty())).toList();
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, List<EmployeeField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            row.put(fields.get(i).getProperty(), tuple.get(i));
+        }
+        return row;
+    }
+}
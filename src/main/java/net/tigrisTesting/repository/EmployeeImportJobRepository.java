@@ -0,0 +1,7 @@
+package net.tigrisTesting.repository;
+
+import net.tigrisTesting.model.EmployeeImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface EmployeeImportJobRepository extends JpaRepository<EmployeeImportJob,String> {
+}
@@ -1,28 +1,143 @@
 package net.tigrisTesting.repository;
 
+import jakarta.persistence.QueryHint;
 import net.tigrisTesting.model.Employee;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface EmployeeRepository extends JpaRepository<Employee,Long> {
 
+    // not read-only, so it runs on the primary even with a replica configured: the service caches
+    // what it loads, and a lagging replica would put the row from before a write back in the cache
+    @Override
+    @Transactional
+    public Optional<Employee> findById(Long id);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     public Employee findByEmail(String email);
 
+    // one round trip duplicate check for a whole bulk chunk
+    @Query("select e.email from Employee e where e.email in :emails")
+    public List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // keyset page: seeks past the last seen id on the primary key, never uses OFFSET or a count query
+    public Slice<Employee> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    // full table cursor for exports, must be consumed inside a transaction and closed
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select e from Employee e order by e.id")
+    public Stream<Employee> streamAllBy();
+
+    // warms the email membership filter at startup
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select e.email from Employee e")
+    public Stream<String> streamAllEmails();
+
+    // warms the search index at startup: the indexed columns only, nothing enters the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select e.id as id, e.firstName as firstName, e.lastName as lastName, e.email as email from Employee e")
+    public Stream<SearchFields> streamAllSearchFields();
+
+    public interface SearchFields {
+        long getId();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+    }
+
+
+    // set based writes: one statement, no prior select, affected rows tell whether the id exists.
+    // a non null version makes the write conditional (If-Match), every write bumps the version.
+    // rows from before the version column read as version 0 until the startup backfill reaches them
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, " +
+            "e.version = coalesce(e.version, 0) + 1 where e.id = :id and (:version is null or coalesce(e.version, 0) = :version)")
+    public int updateById(@Param("id") long id, @Param("firstName") String firstName,
+                          @Param("lastName") String lastName, @Param("email") String email,
+                          @Param("version") Long version);
+
+    // null arguments keep the stored value
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.firstName = coalesce(:firstName, e.firstName), e.lastName = coalesce(:lastName, e.lastName), " +
+            "e.email = coalesce(:email, e.email), e.version = coalesce(e.version, 0) + 1 " +
+            "where e.id = :id and (:version is null or coalesce(e.version, 0) = :version)")
+    public int patchById(@Param("id") long id, @Param("firstName") String firstName,
+                         @Param("lastName") String lastName, @Param("email") String email,
+                         @Param("version") Long version);
+
+    // version only lookup for conditional requests
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
+    @Query("select coalesce(e.version, 0) from Employee e where e.id = :id")
+    public Optional<Long> findVersionById(@Param("id") long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.id = :id")
+    public int deleteEmployeeById(@Param("id") long id);
+
+    // rows written before the version column existed hold null, which If-None-Match and If-Match cannot use
+    @Transactional
+    @Modifying
+    @Query("update Employee e set e.version = 0 where e.version is null")
+    public int backfillVersions();
+
+    // bulk writes: one statement and one transaction per chunk of ids, so locks and undo stay bounded.
+    // the jpql bulk statements also invalidate the employee cache regions
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.firstName = coalesce(:firstName, e.firstName), e.lastName = coalesce(:lastName, e.lastName), " +
+            "e.version = coalesce(e.version, 0) + 1 where e.id in :ids")
+    public int patchByIds(@Param("ids") Collection<Long> ids, @Param("firstName") String firstName,
+                          @Param("lastName") String lastName);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.id in :ids")
+    public int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // next chunk of ids with an email in a domain, keyset on id. read-write so it is answered by the
+    // primary: a lagging replica would miss rows just written
+    @Transactional
+    @Query("select e.id from Employee e where e.email like :pattern escape '\\' and e.id > :afterId order by e.id")
+    public List<Long> findIdsByEmailLike(@Param("pattern") String pattern, @Param("afterId") long afterId, Pageable pageable);
+
+    // name lookups are read-only, so they are served by the replica when one is configured
 
     // jpql index paramaters
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
+    @Transactional(readOnly = true)
     @Query("select e from Employee e where e.firstName= ?1 and e.lastName= ?2")
     public Employee findByJPQL(String firstName,String lastName);
 
     // jpql name paramaters
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
+    @Transactional(readOnly = true)
     @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName")
     public Employee findByJPQLParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
     //native query index paramters
+    @Transactional(readOnly = true)
     @Query(value = "select * from employee e  where e.first_name=?1 and e.last_name=?2",nativeQuery = true)
     public Employee findByNativeSql(String firstName,String lastName);
 
     // native query name paramaters
+    @Transactional(readOnly = true)
     @Query(value = "select * from employee e where e.first_name =:firstName and e.last_name =:lastName",nativeQuery = true)
     public Employee findByNativeNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
@@ -0,0 +1,119 @@
+package net.tigrisTesting.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import net.tigrisTesting.dto.NameMatch;
+import net.tigrisTesting.model.Employee;
+import org.hibernate.Session;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// name search in two steps: a keyset query that only reads id and names, answered from the
+// name indexes of Employee without touching the rows, then a primary key load of the page
+@Repository
+public class EmployeeSearchRepository {
+
+    private EntityManager entityManager;
+
+    public EmployeeSearchRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // the page is ordered by the prefix matched columns (last name first) and then id, exact matches
+    // pin their column so the order is id alone. afterKeys holds the sort key values of the last row seen
+    public Slice<NameKey> findKeysByName(String firstName, String lastName, NameMatch match,
+                                         List<String> afterKeys, Long afterId, int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+
+        List<Predicate> where = new ArrayList<>();
+        List<Path<String>> keys = new ArrayList<>();
+        addName(cb, employee.get("lastName"), lastName, match, where, keys);
+        addName(cb, employee.get("firstName"), firstName, match, where, keys);
+
+        Path<Long> id = employee.get("id");
+        if (afterId != null) {
+            where.add(after(cb, keys, afterKeys, 0, id, afterId));
+        }
+        List<Order> orders = new ArrayList<>();
+        keys.forEach(key -> orders.add(cb.asc(key)));
+        orders.add(cb.asc(id));
+
+        List<Selection<?>> selections = new ArrayList<>(keys);
+        selections.add(id);
+        query.multiselect(selections).where(where.toArray(Predicate[]::new)).orderBy(orders);
+        // one extra row tells whether there is a next page, so no count query is needed
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+
+        boolean hasNext = rows.size() > limit;
+        List<NameKey> page = new ArrayList<>(Math.min(rows.size(), limit));
+        for (Tuple row : rows.subList(0, Math.min(rows.size(), limit))) {
+            List<String> values = new ArrayList<>(keys.size());
+            for (int index = 0; index < keys.size(); index++) {
+                values.add(row.get(index, String.class));
+            }
+            page.add(new NameKey(values, row.get(keys.size(), Long.class)));
+        }
+        return new SliceImpl<>(page, PageRequest.of(0, limit), hasNext);
+    }
+
+    // entities in the order of the ids, served from the second level cache where present and
+    // loaded with one in-list select otherwise. ids deleted since the keyset query are skipped
+    public List<Employee> findAllByIdInOrder(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Employee.class)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void addName(CriteriaBuilder cb, Path<String> path, String value, NameMatch match,
+                         List<Predicate> where, List<Path<String>> keys) {
+        if (value == null) {
+            return;
+        }
+        if (match == NameMatch.PREFIX) {
+            where.add(cb.like(path, escapeLike(value) + "%", '\\'));
+            keys.add(path);
+        } else {
+            where.add(cb.equal(path, value));
+        }
+    }
+
+    // (k0, k1, .., id) > (v0, v1, .., afterId) expanded into or/and so the index range can be used
+    private Predicate after(CriteriaBuilder cb, List<Path<String>> keys, List<String> values, int index,
+                            Path<Long> id, long afterId) {
+        if (index == keys.size()) {
+            return cb.greaterThan(id, afterId);
+        }
+        Path<String> key = keys.get(index);
+        String value = values.get(index);
+        return cb.or(cb.greaterThan(key, value),
+                cb.and(cb.equal(key, value), after(cb, keys, values, index + 1, id, afterId)));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // sort key values and id of a keyset row: where the next page starts, even when every row of
+    // this page is deleted before it is loaded
+    @Getter
+    @AllArgsConstructor
+    public static final class NameKey {
+        private final List<String> keys;
+        private final long id;
+    }
+}
@@ -0,0 +1,31 @@
+package net.tigrisTesting.service;
+
+import net.tigrisTesting.dto.BulkCreateResult;
+import net.tigrisTesting.dto.EmployeePage;
+import net.tigrisTesting.dto.NameMatch;
+import net.tigrisTesting.model.Employee;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// EmployeeService on a bounded executor, failures complete the future exceptionally
+public interface EmployeeAsyncService {
+
+    public CompletableFuture<Employee> saveEmployee(Employee employee);
+    public CompletableFuture<BulkCreateResult> saveEmployees(List<Employee> employees);
+    public CompletableFuture<List<Employee>> getAllEmployees();
+    public CompletableFuture<EmployeePage> getEmployeePage(String after, int limit);
+    public CompletableFuture<EmployeePage> searchEmployees(String firstName, String lastName, NameMatch match, String after, int limit);
+    public CompletableFuture<Optional<Employee>> getEmployeeById(long id);
+    public CompletableFuture<Optional<Long>> getEmployeeVersion(long id);
+
+    public CompletableFuture<Employee> updateEmployee(Employee employee);
+    public CompletableFuture<Employee> updateEmployee(Employee employee, long expectedVersion);
+
+    public CompletableFuture<Void> patchEmployee(long id, Employee patch);
+    // completes with the new version
+    public CompletableFuture<Long> patchEmployee(long id, Employee patch, long expectedVersion);
+
+    public CompletableFuture<Void> deleteEmployee(long id);
+}
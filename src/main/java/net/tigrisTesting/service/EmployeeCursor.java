@@ -0,0 +1,77 @@
+package net.tigrisTesting.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import net.tigrisTesting.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// opaque keyset cursor: url-safe base64 of the last id the client has seen
+// (name search cursors also carry the sort key values of that row)
+public final class EmployeeCursor {
+
+    private static final String PREFIX = "id:";
+    private static final String NAME_PREFIX = "name:";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private EmployeeCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return ENCODER.encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null or blank cursor means "start from the beginning"
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new BadRequestException("Invalid cursor :" + cursor);
+            }
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor :" + cursor, e);
+        }
+    }
+
+    public static String encodeName(List<String> keys, long lastId) {
+        StringBuilder value = new StringBuilder(NAME_PREFIX).append(lastId);
+        for (String key : keys) {
+            value.append(':').append(ENCODER.encodeToString(key.getBytes(StandardCharsets.UTF_8)));
+        }
+        return ENCODER.encodeToString(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null for "start from the beginning", the key count must match the search the cursor is used with
+    public static NamePosition decodeName(String cursor, int keyCount) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", -1);
+            if (parts.length != keyCount + 2 || !NAME_PREFIX.equals(parts[0] + ":")) {
+                throw new BadRequestException("Invalid cursor :" + cursor);
+            }
+            List<String> keys = new ArrayList<>(keyCount);
+            for (int i = 2; i < parts.length; i++) {
+                keys.add(new String(Base64.getUrlDecoder().decode(parts[i]), StandardCharsets.UTF_8));
+            }
+            return new NamePosition(keys, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor :" + cursor, e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class NamePosition {
+        private final List<String> keys;
+        private final long id;
+    }
+}
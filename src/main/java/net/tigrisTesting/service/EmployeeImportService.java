@@ -0,0 +1,12 @@
+package net.tigrisTesting.service;
+
+import net.tigrisTesting.dto.EmployeeImportProgress;
+
+import java.util.Optional;
+
+public interface EmployeeImportService {
+
+    // starts (or resumes) importing a csv file from the import directory, the job id is the file name
+    public EmployeeImportProgress startImport(String fileName);
+    public Optional<EmployeeImportProgress> getProgress(String jobId);
+}
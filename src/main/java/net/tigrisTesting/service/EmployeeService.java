@@ -1,17 +1,45 @@
 package net.tigrisTesting.service;
 
+import net.tigrisTesting.dto.BulkChangeResult;
+import net.tigrisTesting.dto.BulkCreateResult;
+import net.tigrisTesting.dto.EmployeeFilter;
+import net.tigrisTesting.dto.EmployeeFieldPage;
+import net.tigrisTesting.dto.EmployeePage;
+import net.tigrisTesting.dto.NameMatch;
 import net.tigrisTesting.model.Employee;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
     public Employee saveEmployee(Employee employee);
+    public BulkCreateResult saveEmployees(List<Employee> employees);
     public List<Employee> getAllEmployees();
+    public EmployeePage getEmployeePage(String after, int limit);
+    // sparse variants, fields is a comma separated list of EmployeeField properties
+    public List<Map<String, Object>> getAllEmployees(String fields);
+    public EmployeeFieldPage getEmployeePage(String after, int limit, String fields);
+    public Optional<Map<String, Object>> getEmployeeById(long id, String fields);
+    public EmployeePage searchEmployees(String firstName, String lastName, NameMatch match, String after, int limit);
+    // ranked ids, best match first
+    public List<Long> fuzzySearchEmployees(String query, int limit);
+    public void exportEmployees(Consumer<Employee> consumer);
     public Optional<Employee> getEmployeeById(long id);
+    public Optional<Long> getEmployeeVersion(long id);
 
     public Employee updateEmployee(Employee employee);
+    public Employee updateEmployee(Employee employee, long expectedVersion);
+
+    public void patchEmployee(long id, Employee patch);
+    // returns the new version
+    public long patchEmployee(long id, Employee patch, long expectedVersion);
 
     public void deleteEmployee(long id);
+
+    // set based writes over a filter, one statement per chunk of employee.bulk.batch-size ids
+    public BulkChangeResult updateEmployees(EmployeeFilter filter, String firstName, String lastName);
+    public BulkChangeResult deleteEmployees(EmployeeFilter filter);
 }
@@ -0,0 +1,43 @@
+package net.tigrisTesting.service.impl;
+
+import net.tigrisTesting.model.Employee;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+// tells a write rejected by the unique email index apart from other integrity violations (null or too long
+// columns, foreign keys), which are not duplicates. hibernate reports the violated constraint by name, a jdbc
+// batch only through the driver message, which mysql, postgres and h2 all word with the index name
+final class EmailConstraint {
+
+    // sql state class of integrity constraint violations
+    private static final String INTEGRITY_VIOLATION = "23";
+    private static final String NAME = Employee.EMAIL_CONSTRAINT.toLowerCase(Locale.ROOT);
+
+    private EmailConstraint() {
+    }
+
+    static boolean isViolatedBy(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return names(violation.getConstraintName());
+            }
+            if (cause instanceof SQLException sql) {
+                // a failed batch chains one exception per rejected row
+                for (SQLException next = sql; next != null; next = next.getNextException()) {
+                    if (next.getSQLState() != null && next.getSQLState().startsWith(INTEGRITY_VIOLATION)
+                            && names(next.getMessage())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean names(String text) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(NAME);
+    }
+}
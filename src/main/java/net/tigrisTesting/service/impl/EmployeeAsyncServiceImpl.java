@@ -0,0 +1,110 @@
+package net.tigrisTesting.service.impl;
+
+import net.tigrisTesting.config.AsyncConfig;
+import net.tigrisTesting.dto.BulkCreateResult;
+import net.tigrisTesting.dto.EmployeePage;
+import net.tigrisTesting.dto.NameMatch;
+import net.tigrisTesting.exception.ServiceUnavailableException;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.service.EmployeeAsyncService;
+import net.tigrisTesting.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+// transactions, caching and validation stay in EmployeeService, this only moves the calls
+// off the request thread. a future cancelled before its task starts never runs the task
+@Service
+public class EmployeeAsyncServiceImpl implements EmployeeAsyncService {
+
+    private EmployeeService employeeService;
+    private Executor executor;
+
+    public EmployeeAsyncServiceImpl(EmployeeService employeeService,
+                                    @Qualifier(AsyncConfig.EMPLOYEE_EXECUTOR) Executor executor) {
+        this.employeeService = employeeService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Employee> saveEmployee(Employee employee) {
+        return supply(() -> employeeService.saveEmployee(employee));
+    }
+
+    @Override
+    public CompletableFuture<BulkCreateResult> saveEmployees(List<Employee> employees) {
+        return supply(() -> employeeService.saveEmployees(employees));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return supply(() -> employeeService.getAllEmployees());
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage> getEmployeePage(String after, int limit) {
+        return supply(() -> employeeService.getEmployeePage(after, limit));
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage> searchEmployees(String firstName, String lastName, NameMatch match,
+                                                           String after, int limit) {
+        return supply(() -> employeeService.searchEmployees(firstName, lastName, match, after, limit));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Employee>> getEmployeeById(long id) {
+        return supply(() -> employeeService.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Long>> getEmployeeVersion(long id) {
+        return supply(() -> employeeService.getEmployeeVersion(id));
+    }
+
+    @Override
+    public CompletableFuture<Employee> updateEmployee(Employee employee) {
+        return supply(() -> employeeService.updateEmployee(employee));
+    }
+
+    @Override
+    public CompletableFuture<Employee> updateEmployee(Employee employee, long expectedVersion) {
+        return supply(() -> employeeService.updateEmployee(employee, expectedVersion));
+    }
+
+    @Override
+    public CompletableFuture<Void> patchEmployee(long id, Employee patch) {
+        return supply(() -> {
+            employeeService.patchEmployee(id, patch);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> patchEmployee(long id, Employee patch, long expectedVersion) {
+        return supply(() -> employeeService.patchEmployee(id, patch, expectedVersion));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(long id) {
+        return supply(() -> {
+            employeeService.deleteEmployee(id);
+            return null;
+        });
+    }
+
+    // a full queue fails the future (503) instead of throwing on the request thread
+    private <T> CompletableFuture<T> supply(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new ServiceUnavailableException("Employee executor is saturated", e));
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package net.tigrisTesting.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.tigrisTesting.cache.EmailBloomFilter;
+import net.tigrisTesting.cache.EmployeeSearchIndex;
+import net.tigrisTesting.exception.DuplicateEmailException;
+import net.tigrisTesting.exception.ServiceUnavailableException;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeBatchRepository;
+import net.tigrisTesting.repository.EmployeeRepository;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// group commit for single creates: concurrent saveEmployee calls are queued and one worker thread
+// writes whatever arrived within maxWait (at most maxBatch) with one duplicate lookup, one batched
+// insert and one commit. every caller still gets its own outcome: its employee with the generated id,
+// or a DuplicateEmailException for an email taken in the database or earlier in the same batch.
+// a unique index violation rolls the batch back and its rows are retried one transaction each.
+// no caller waits forever: creates are refused once closing starts, a worker that dies fails whatever
+// is still queued, and create() gives up after the timeout
+public class EmployeeCreateCoalescer {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeBatchRepository employeeBatchRepository;
+    private final EmailBloomFilter emailBloomFilter;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatch;
+    private final long maxWaitNanos;
+    private final Duration timeout;
+    private final BlockingQueue<PendingCreate> queue;
+    private final Thread worker;
+    // submit offers under the read lock, closing flips the flag under the write lock: once closed is
+    // seen, nothing more can enter the queue and the final drain gets every accepted create
+    private final ReadWriteLock closing = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    private final DistributionSummary batchSizes;
+    private final Counter requestDuplicates;
+    private final Counter lookupDuplicates;
+    private final Counter constraintDuplicates;
+
+    public EmployeeCreateCoalescer(EmployeeRepository employeeRepository, EmployeeBatchRepository employeeBatchRepository,
+                                   EmailBloomFilter emailBloomFilter, EmployeeSearchIndex employeeSearchIndex,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                   int maxBatch, Duration maxWait, int queueCapacity, Duration timeout) {
+        if (maxBatch < 1 || maxWait.isNegative() || queueCapacity < 1 || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Invalid coalescing settings :" + maxBatch + " items, " + maxWait
+                    + ", queue " + queueCapacity + ", timeout " + timeout);
+        }
+        this.employeeRepository = employeeRepository;
+        this.employeeBatchRepository = employeeBatchRepository;
+        this.emailBloomFilter = emailBloomFilter;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatch = maxBatch;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.timeout = timeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.worker = new Thread(this::run, "employee-create-coalescer");
+        this.worker.setDaemon(true);
+
+        this.batchSizes = DistributionSummary.builder("employee.create.coalesced.batch")
+                .description("single creates written per coalesced transaction")
+                .register(meterRegistry);
+        this.requestDuplicates = EmployeeServiceImpl.duplicates(meterRegistry, "create", "request");
+        this.lookupDuplicates = EmployeeServiceImpl.duplicates(meterRegistry, "create", "lookup");
+        this.constraintDuplicates = EmployeeServiceImpl.duplicates(meterRegistry, "create", "constraint");
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    // stops taking new creates, the queued ones are still written
+    public void close() throws InterruptedException {
+        stopAccepting();
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    // blocks until the batch holding the employee is written. on timeout the create may still be
+    // written later, the caller only stops waiting for it
+    public Employee create(Employee employee) {
+        try {
+            return submit(employee).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ServiceUnavailableException("Employee create not written within " + timeout, e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Employee> submit(Employee employee) {
+        PendingCreate pending = new PendingCreate(employee);
+        closing.readLock().lock();
+        try {
+            if (closed) {
+                throw new ServiceUnavailableException("Employee creates are not accepted any more");
+            }
+            if (!queue.offer(pending)) {
+                throw new ServiceUnavailableException("Too many pending employee creates");
+            }
+        } finally {
+            closing.readLock().unlock();
+        }
+        return pending.result;
+    }
+
+    private void stopAccepting() {
+        closing.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closing.writeLock().unlock();
+        }
+    }
+
+    private void run() {
+        List<PendingCreate> batch = new ArrayList<>(maxBatch);
+        try {
+            while (!closed) {
+                try {
+                    batch.add(queue.take());
+                    long deadline = System.nanoTime() + maxWaitNanos;
+                    while (batch.size() < maxBatch) {
+                        PendingCreate next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    // closing: write what has been collected and whatever is still queued
+                }
+                queue.drainTo(batch, closed ? Integer.MAX_VALUE : maxBatch - batch.size());
+                flushSafely(batch);
+                batch.clear();
+            }
+            queue.drainTo(batch);
+            flushSafely(batch);
+        } finally {
+            // normally nothing is left, but an Error ends the worker with callers still waiting
+            stopAccepting();
+            queue.drainTo(batch);
+            ServiceUnavailableException stopped = new ServiceUnavailableException("Employee create worker stopped");
+            batch.forEach(pending -> pending.result.completeExceptionally(stopped));
+        }
+    }
+
+    private void flushSafely(List<PendingCreate> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flush(batch);
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+        }
+    }
+
+    void flush(List<PendingCreate> batch) {
+        batchSizes.record(batch.size());
+
+        // the first caller of an email wins within the batch, like two sequential creates would
+        // ignoring case, like the unique index under mysql's default collation
+        Set<String> emails = new HashSet<>();
+        List<PendingCreate> unique = new ArrayList<>(batch.size());
+        for (PendingCreate pending : batch) {
+            String email = pending.employee.getEmail();
+            if (email != null && !emails.add(email.toLowerCase(Locale.ROOT))) {
+                requestDuplicates.increment();
+                pending.result.completeExceptionally(new DuplicateEmailException(email));
+            } else {
+                unique.add(pending);
+            }
+        }
+
+        // one lookup for every email the filter may have seen, the unique index catches the rest
+        List<String> candidates = unique.stream()
+                .map(pending -> pending.employee.getEmail())
+                .filter(email -> email != null && emailBloomFilter.mightContain(email))
+                .toList();
+        Set<String> existing = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            employeeRepository.findExistingEmails(candidates).forEach(email -> existing.add(email.toLowerCase(Locale.ROOT)));
+        }
+        List<PendingCreate> inserts = new ArrayList<>(unique.size());
+        for (PendingCreate pending : unique) {
+            String email = pending.employee.getEmail();
+            if (email != null && existing.contains(email.toLowerCase(Locale.ROOT))) {
+                lookupDuplicates.increment();
+                pending.result.completeExceptionally(new DuplicateEmailException(pending.employee.getEmail()));
+            } else {
+                inserts.add(pending);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(inserts);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent create (bulk or another instance) took an email, find out whose row it was
+            for (PendingCreate pending : inserts) {
+                try {
+                    insert(List.of(pending));
+                } catch (DataIntegrityViolationException duplicate) {
+                    if (!EmailConstraint.isViolatedBy(duplicate)) {
+                        pending.result.completeExceptionally(duplicate);
+                        continue;
+                    }
+                    constraintDuplicates.increment();
+                    pending.result.completeExceptionally(new DuplicateEmailException(pending.employee.getEmail(), duplicate));
+                } catch (DataAccessException failure) {
+                    pending.result.completeExceptionally(failure);
+                }
+            }
+        }
+    }
+
+    private void insert(List<PendingCreate> inserts) {
+        List<Employee> employees = inserts.stream().map(pending -> pending.employee).toList();
+        transactionTemplate.executeWithoutResult(status -> employeeBatchRepository.insertBatch(employees));
+        for (PendingCreate pending : inserts) {
+            Employee employee = pending.employee;
+            emailBloomFilter.put(employee.getEmail());
+            // jdbc inserts bypass the entity listener that indexes persisted employees
+            employeeSearchIndex.put(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+            pending.result.complete(employee);
+        }
+    }
+
+    static final class PendingCreate {
+
+        private final Employee employee;
+        private final CompletableFuture<Employee> result = new CompletableFuture<>();
+
+        PendingCreate(Employee employee) {
+            this.employee = employee;
+        }
+    }
+}
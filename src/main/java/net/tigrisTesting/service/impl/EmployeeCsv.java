@@ -0,0 +1,129 @@
+package net.tigrisTesting.service.impl;
+
+import net.tigrisTesting.exception.BadRequestException;
+import net.tigrisTesting.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// employee csv records: the header names the firstName, lastName and email columns in any order
+// (matched ignoring case, '_' and '-'), other columns are skipped. fields use rfc 4180 quoting,
+// except that a quoted field cannot span lines: every line is one record. immutable, so one
+// instance is shared by all parsing threads of an import
+public final class EmployeeCsv {
+
+    // column size of the employee table
+    static final int MAX_FIELD_LENGTH = 255;
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    private final int firstName;
+    private final int lastName;
+    private final int email;
+    private final int columns;
+
+    private EmployeeCsv(int firstName, int lastName, int email, int columns) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.columns = columns;
+    }
+
+    public static EmployeeCsv ofHeader(String header) {
+        List<String> names;
+        try {
+            names = split(header);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid csv header :" + e.getMessage());
+        }
+        int firstName = -1;
+        int lastName = -1;
+        int email = -1;
+        for (int column = 0; column < names.size(); column++) {
+            switch (names.get(column).trim().replace("_", "").replace("-", "").toLowerCase(Locale.ROOT)) {
+                case "firstname" -> firstName = column;
+                case "lastname" -> lastName = column;
+                case "email" -> email = column;
+                default -> {
+                    // not an employee property
+                }
+            }
+        }
+        if (email < 0) {
+            throw new BadRequestException("Csv header has no email column :" + header);
+        }
+        return new EmployeeCsv(firstName, lastName, email, names.size());
+    }
+
+    // the employee of one record, IllegalArgumentException explains why the record is invalid
+    public Employee parse(String line) {
+        List<String> fields = split(line);
+        if (fields.size() != columns) {
+            throw new IllegalArgumentException("Expected " + columns + " columns but found " + fields.size());
+        }
+        String email = field(fields, this.email);
+        if (email == null) {
+            throw new IllegalArgumentException("Employee email is required");
+        }
+        if (!EMAIL.matcher(email).matches()) {
+            throw new IllegalArgumentException("Invalid email :" + email);
+        }
+        return Employee.builder()
+                .firstName(field(fields, firstName))
+                .lastName(field(fields, lastName))
+                .email(email)
+                .build();
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0) {
+            return null;
+        }
+        String value = fields.get(column).trim();
+        if (value.length() > MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Field longer than " + MAX_FIELD_LENGTH + " characters in column " + (column + 1));
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            if (i < line.length() && line.charAt(i) == '"') {
+                // quoted field, "" is an escaped quote
+                i++;
+                while (true) {
+                    if (i == line.length()) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Unexpected character after quoted field at position " + (i + 1));
+                }
+            } else {
+                while (i < line.length() && line.charAt(i) != ',') {
+                    field.append(line.charAt(i++));
+                }
+            }
+            fields.add(field.toString());
+            field.setLength(0);
+            if (i == line.length()) {
+                return fields;
+            }
+            // skip the comma
+            i++;
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package net.tigrisTesting.service.impl;
+
+import net.tigrisTesting.cache.EmailBloomFilter;
+import net.tigrisTesting.cache.EmployeeSearchIndex;
+import net.tigrisTesting.config.ImportConfig;
+import net.tigrisTesting.dto.EmployeeImportError;
+import net.tigrisTesting.dto.EmployeeImportProgress;
+import net.tigrisTesting.exception.BadRequestException;
+import net.tigrisTesting.exception.ConflictException;
+import net.tigrisTesting.exception.ResourceNotFoundException;
+import net.tigrisTesting.exception.ServiceUnavailableException;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.model.EmployeeImportJob;
+import net.tigrisTesting.model.EmployeeImportStatus;
+import net.tigrisTesting.repository.EmployeeBatchRepository;
+import net.tigrisTesting.repository.EmployeeImportJobRepository;
+import net.tigrisTesting.repository.EmployeeRepository;
+import net.tigrisTesting.service.EmployeeImportService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+// streaming csv import from employee.import.directory. the file is read through a FileChannel a
+// buffer at a time and cut into chunks of chunk-size lines; chunks are parsed on the parse pool while
+// the import thread commits the ones before them in file order. each chunk is one transaction: one
+// duplicate lookup, one batched insert and the job checkpoint (byte offset and counts), so a rerun
+// of a failed or interrupted file seeks to the end of the last committed chunk. duplicates within a
+// chunk are caught here, across chunks by the lookup because earlier chunks are already committed
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_LINE_LENGTH = 1 << 20;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeBatchRepository employeeBatchRepository;
+    private EmployeeImportJobRepository employeeImportJobRepository;
+    private EmailBloomFilter emailBloomFilter;
+    private EmployeeSearchIndex employeeSearchIndex;
+    private TransactionTemplate transactionTemplate;
+    private ThreadPoolTaskExecutor importExecutor;
+    private ThreadPoolTaskExecutor parseExecutor;
+    private Path directory;
+    private int chunkSize;
+    private int maxReportedErrors;
+    // jobs running on this instance, by job id
+    private final Map<String, RunningImport> running = new ConcurrentHashMap<>();
+    // last finished run of each job on this instance, it still has the line errors the table does not keep
+    private final Map<String, EmployeeImportProgress> finished = new ConcurrentHashMap<>();
+
+    public EmployeeImportServiceImpl(EmployeeRepository employeeRepository, EmployeeBatchRepository employeeBatchRepository,
+                                     EmployeeImportJobRepository employeeImportJobRepository,
+                                     EmailBloomFilter emailBloomFilter, EmployeeSearchIndex employeeSearchIndex,
+                                     PlatformTransactionManager transactionManager,
+                                     @Qualifier(ImportConfig.IMPORT_EXECUTOR) ThreadPoolTaskExecutor importExecutor,
+                                     @Qualifier(ImportConfig.PARSE_EXECUTOR) ThreadPoolTaskExecutor parseExecutor,
+                                     @Value("${employee.import.directory:imports}") String directory,
+                                     @Value("${employee.import.chunk-size:2000}") int chunkSize,
+                                     @Value("${employee.import.max-reported-errors:1000}") int maxReportedErrors) {
+        if (chunkSize < 1 || maxReportedErrors < 0) {
+            throw new IllegalArgumentException("Invalid import settings :" + chunkSize + " lines per chunk, "
+                    + maxReportedErrors + " reported errors");
+        }
+        this.employeeRepository = employeeRepository;
+        this.employeeBatchRepository = employeeBatchRepository;
+        this.employeeImportJobRepository = employeeImportJobRepository;
+        this.emailBloomFilter = emailBloomFilter;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importExecutor = importExecutor;
+        this.parseExecutor = parseExecutor;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public EmployeeImportProgress startImport(String fileName) {
+        Path file = resolve(fileName);
+        long fileSize;
+        long fileModified;
+        try {
+            fileSize = Files.size(file);
+            fileModified = Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        RunningImport run = new RunningImport(maxReportedErrors);
+        if (running.putIfAbsent(fileName, run) != null) {
+            throw new ConflictException("Import already running :" + fileName);
+        }
+        try {
+            // read-write, so the checkpoint comes from the primary and not a lagging replica.
+            // a checkpoint of another version of the file is dropped and the import starts over
+            EmployeeImportJob job = transactionTemplate.execute(status -> employeeImportJobRepository.findById(fileName)
+                    .filter(existing -> existing.getFileSize() == fileSize && existing.getFileModified() == fileModified)
+                    .orElseGet(() -> EmployeeImportJob.builder().id(fileName).fileSize(fileSize).fileModified(fileModified).build()));
+            if (job.getStatus() == EmployeeImportStatus.COMPLETED) {
+                running.remove(fileName, run);
+                EmployeeImportProgress last = finished.get(fileName);
+                return last != null && last.getStatus() == EmployeeImportStatus.COMPLETED ? last : progress(job, List.of());
+            }
+            run.update(job.toBuilder().status(EmployeeImportStatus.RUNNING).error(null).build(), List.of());
+            importExecutor.execute(() -> run(file, run));
+            return run.progress;
+        } catch (RejectedExecutionException e) {
+            running.remove(fileName, run);
+            throw new ServiceUnavailableException("Too many running imports", e);
+        } catch (RuntimeException e) {
+            running.remove(fileName, run);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<EmployeeImportProgress> getProgress(String jobId) {
+        RunningImport run = running.get(jobId);
+        if (run != null) {
+            return Optional.of(run.progress);
+        }
+        EmployeeImportProgress last = finished.get(jobId);
+        if (last != null) {
+            return Optional.of(last);
+        }
+        return employeeImportJobRepository.findById(jobId).map(job -> progress(job, List.of()));
+    }
+
+    // a file name inside the import directory, never a path out of it
+    private Path resolve(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new BadRequestException("Import file name is required");
+        }
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.getParent().equals(directory)) {
+            throw new BadRequestException("Import file must be a file name inside the import directory :" + fileName);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Import file not found :" + fileName);
+        }
+        return file;
+    }
+
+    private void run(Path file, RunningImport run) {
+        EmployeeImportJob job;
+        try {
+            run.job = employeeImportJobRepository.save(run.job);
+            importFile(file, run);
+            job = run.job.toBuilder().status(EmployeeImportStatus.COMPLETED).build();
+        } catch (Exception e) {
+            // the last committed checkpoint stays, a rerun continues from it
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            job = run.job.toBuilder().status(EmployeeImportStatus.FAILED)
+                    .error(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error)
+                    .build();
+        }
+        try {
+            run.update(employeeImportJobRepository.save(job), List.of());
+        } catch (RuntimeException e) {
+            // the stored job keeps saying RUNNING, which a rerun resumes like a failed one
+            run.update(job.toBuilder().status(EmployeeImportStatus.FAILED).build(), List.of());
+        } finally {
+            finished.put(job.getId(), run.progress);
+            running.remove(job.getId(), run);
+        }
+    }
+
+    private void importFile(Path file, RunningImport run) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            LineReader reader = new LineReader(channel);
+            byte[] header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("Import file is empty");
+            }
+            if (header == LineReader.TOO_LONG) {
+                throw new IllegalArgumentException("Csv header longer than " + MAX_LINE_LENGTH + " bytes");
+            }
+            // a byte order mark is not part of the first column name
+            EmployeeCsv csv = EmployeeCsv.ofHeader(decode(header).replaceFirst("^\\uFEFF", ""));
+            if (run.job.getCommittedBytes() == 0) {
+                run.job = run.job.toBuilder().committedBytes(reader.position()).committedLines(1).build();
+            } else {
+                reader.seek(run.job.getCommittedBytes());
+            }
+            long line = run.job.getCommittedLines();
+
+            // chunks parsed ahead of the one being committed, bounded to keep memory flat
+            int window = parseExecutor.getMaxPoolSize() + 1;
+            Deque<CompletableFuture<ParsedChunk>> parsing = new ArrayDeque<>();
+            while (true) {
+                RawChunk chunk = reader.chunk(chunkSize, line + 1);
+                if (chunk != null) {
+                    parsing.add(CompletableFuture.supplyAsync(() -> parse(csv, chunk), parseExecutor));
+                    line += chunk.lines.size();
+                }
+                if (parsing.isEmpty()) {
+                    return;
+                }
+                if (chunk == null || parsing.size() > window) {
+                    commit(run, parsing.poll().join());
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Import interrupted at line " + run.job.getCommittedLines());
+                }
+            }
+        }
+    }
+
+    private static ParsedChunk parse(EmployeeCsv csv, RawChunk chunk) {
+        List<ParsedLine> employees = new ArrayList<>(chunk.lines.size());
+        List<EmployeeImportError> errors = new ArrayList<>();
+        for (int i = 0; i < chunk.lines.size(); i++) {
+            long line = chunk.firstLine + i;
+            byte[] bytes = chunk.lines.get(i);
+            if (bytes == LineReader.TOO_LONG) {
+                errors.add(new EmployeeImportError(line, "Line longer than " + MAX_LINE_LENGTH + " bytes"));
+                continue;
+            }
+            if (bytes.length == 0) {
+                continue;
+            }
+            try {
+                employees.add(new ParsedLine(line, csv.parse(decode(bytes))));
+            } catch (CharacterCodingException e) {
+                errors.add(new EmployeeImportError(line, "Invalid UTF-8"));
+            } catch (IllegalArgumentException e) {
+                errors.add(new EmployeeImportError(line, e.getMessage()));
+            }
+        }
+        return new ParsedChunk(employees, errors, chunk.lines.size(), chunk.endPosition);
+    }
+
+    private void commit(RunningImport run, ParsedChunk chunk) {
+        List<EmployeeImportError> errors = new ArrayList<>(chunk.errors);
+
+        // the first line of an email wins within the chunk, ignoring case like the unique index
+        // under mysql's default collation
+        Set<String> emails = new HashSet<>();
+        List<ParsedLine> unique = new ArrayList<>(chunk.employees.size());
+        for (ParsedLine parsed : chunk.employees) {
+            if (emails.add(parsed.employee.getEmail().toLowerCase(Locale.ROOT))) {
+                unique.add(parsed);
+            } else {
+                errors.add(new EmployeeImportError(parsed.line, "Duplicate email in file :" + parsed.employee.getEmail()));
+            }
+        }
+
+        // lookup, insert and checkpoint in one transaction on the primary, where the previous chunk is visible
+        List<EmployeeImportError> rejected = new ArrayList<>();
+        List<ParsedLine> inserted;
+        EmployeeImportJob checkpoint;
+        try {
+            ChunkCommit committed = transactionTemplate.execute(status -> {
+                List<ParsedLine> rows = withoutExisting(unique, rejected);
+                if (!rows.isEmpty()) {
+                    employeeBatchRepository.insertBatch(rows.stream().map(parsed -> parsed.employee).toList());
+                }
+                return new ChunkCommit(rows, employeeImportJobRepository.save(
+                        checkpoint(run.job, chunk, rows.size(), errors.size() + rejected.size())));
+            });
+            inserted = committed.inserted;
+            checkpoint = committed.checkpoint;
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent writer took one of the emails or a row broke another constraint, find out which row it was
+            rejected.clear();
+            inserted = new ArrayList<>();
+            for (ParsedLine parsed : withoutExisting(unique, rejected)) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> employeeBatchRepository.insertBatch(List.of(parsed.employee)));
+                    inserted.add(parsed);
+                } catch (DataIntegrityViolationException violation) {
+                    rejected.add(EmailConstraint.isViolatedBy(violation) ? alreadyExists(parsed)
+                            : new EmployeeImportError(parsed.line, "Insert failed :" + violation.getMostSpecificCause().getMessage()));
+                }
+            }
+            int created = inserted.size();
+            checkpoint = transactionTemplate.execute(status -> employeeImportJobRepository.save(
+                    checkpoint(run.job, chunk, created, errors.size() + rejected.size())));
+        }
+
+        for (ParsedLine parsed : inserted) {
+            Employee employee = parsed.employee;
+            emailBloomFilter.put(employee.getEmail());
+            // jdbc inserts bypass the entity listener that indexes persisted employees
+            employeeSearchIndex.put(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+        }
+        errors.addAll(rejected);
+        errors.sort(Comparator.comparingLong(EmployeeImportError::getLine));
+        run.update(checkpoint, errors);
+    }
+
+    // one lookup for every email the filter may have seen
+    private List<ParsedLine> withoutExisting(List<ParsedLine> lines, List<EmployeeImportError> errors) {
+        List<String> candidates = lines.stream()
+                .map(parsed -> parsed.employee.getEmail())
+                .filter(emailBloomFilter::mightContain)
+                .toList();
+        if (candidates.isEmpty()) {
+            return lines;
+        }
+        Set<String> existing = new HashSet<>();
+        employeeRepository.findExistingEmails(candidates).forEach(email -> existing.add(email.toLowerCase(Locale.ROOT)));
+        List<ParsedLine> rows = new ArrayList<>(lines.size());
+        for (ParsedLine parsed : lines) {
+            if (existing.contains(parsed.employee.getEmail().toLowerCase(Locale.ROOT))) {
+                errors.add(alreadyExists(parsed));
+            } else {
+                rows.add(parsed);
+            }
+        }
+        return rows;
+    }
+
+    private static EmployeeImportError alreadyExists(ParsedLine parsed) {
+        return new EmployeeImportError(parsed.line, "Employee already exist with this mail :" + parsed.employee.getEmail());
+    }
+
+    private static EmployeeImportJob checkpoint(EmployeeImportJob job, ParsedChunk chunk, int created, int failed) {
+        return job.toBuilder()
+                .committedBytes(chunk.endPosition)
+                .committedLines(job.getCommittedLines() + chunk.lineCount)
+                .created(job.getCreated() + created)
+                .failed(job.getFailed() + failed)
+                .build();
+    }
+
+    private static EmployeeImportProgress progress(EmployeeImportJob job, List<EmployeeImportError> errors) {
+        return new EmployeeImportProgress(job.getId(), job.getStatus(), job.getFileSize(), job.getCommittedBytes(),
+                job.getCommittedLines(), job.getCreated(), job.getFailed(), job.getError(), errors);
+    }
+
+    private static String decode(byte[] bytes) throws CharacterCodingException {
+        return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+    }
+
+    // lines of a file as raw bytes, without their "\n" or "\r\n". utf-8 never has the byte 0x0a
+    // inside a multi-byte character, so lines are cut before decoding and their offsets are exact
+    static final class LineReader {
+
+        // returned instead of a line over MAX_LINE_LENGTH, whose bytes are skipped up to its newline
+        static final byte[] TOO_LONG = new byte[0];
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private byte[] line = new byte[256];
+        private int lineLength;
+        private boolean tooLong;
+        // file offset just past the last returned line
+        private long position;
+
+        LineReader(FileChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        long position() {
+            return position;
+        }
+
+        void seek(long position) throws IOException {
+            channel.position(position);
+            buffer.clear().flip();
+            this.position = position;
+        }
+
+        // null at the end of the file
+        byte[] next() throws IOException {
+            lineLength = 0;
+            tooLong = false;
+            boolean started = false;
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    int read = channel.read(buffer);
+                    buffer.flip();
+                    if (read < 0) {
+                        return started ? line() : null;
+                    }
+                }
+                started = true;
+                byte[] bytes = buffer.array();
+                int from = buffer.position();
+                int to = from;
+                while (to < buffer.limit() && bytes[to] != '\n') {
+                    to++;
+                }
+                append(bytes, from, to - from);
+                if (to < buffer.limit()) {
+                    buffer.position(to + 1);
+                    position += to + 1 - from;
+                    return line();
+                }
+                buffer.position(to);
+                position += to - from;
+            }
+        }
+
+        // up to lines lines, null at the end of the file
+        RawChunk chunk(int lines, long firstLine) throws IOException {
+            List<byte[]> chunk = new ArrayList<>(lines);
+            byte[] next;
+            while (chunk.size() < lines && (next = next()) != null) {
+                chunk.add(next);
+            }
+            return chunk.isEmpty() ? null : new RawChunk(firstLine, chunk, position);
+        }
+
+        private void append(byte[] bytes, int from, int length) {
+            if (tooLong) {
+                return;
+            }
+            if (lineLength + length > MAX_LINE_LENGTH) {
+                tooLong = true;
+                return;
+            }
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+            }
+            System.arraycopy(bytes, from, line, lineLength, length);
+            lineLength += length;
+        }
+
+        private byte[] line() {
+            if (tooLong) {
+                return TOO_LONG;
+            }
+            int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+            return Arrays.copyOf(line, length);
+        }
+    }
+
+    static final class RawChunk {
+
+        private final long firstLine;
+        private final List<byte[]> lines;
+        // file offset just past the chunk
+        private final long endPosition;
+
+        RawChunk(long firstLine, List<byte[]> lines, long endPosition) {
+            this.firstLine = firstLine;
+            this.lines = lines;
+            this.endPosition = endPosition;
+        }
+    }
+
+    static final class ParsedLine {
+
+        private final long line;
+        private final Employee employee;
+
+        ParsedLine(long line, Employee employee) {
+            this.line = line;
+            this.employee = employee;
+        }
+    }
+
+    static final class ParsedChunk {
+
+        private final List<ParsedLine> employees;
+        private final List<EmployeeImportError> errors;
+        private final int lineCount;
+        private final long endPosition;
+
+        ParsedChunk(List<ParsedLine> employees, List<EmployeeImportError> errors, int lineCount, long endPosition) {
+            this.employees = employees;
+            this.errors = errors;
+            this.lineCount = lineCount;
+            this.endPosition = endPosition;
+        }
+    }
+
+    private static final class ChunkCommit {
+
+        private final List<ParsedLine> inserted;
+        private final EmployeeImportJob checkpoint;
+
+        private ChunkCommit(List<ParsedLine> inserted, EmployeeImportJob checkpoint) {
+            this.inserted = inserted;
+            this.checkpoint = checkpoint;
+        }
+    }
+
+    // job state and errors are only written by the import thread, readers see the progress snapshot
+    private static final class RunningImport {
+
+        private final int maxErrors;
+        private final List<EmployeeImportError> errors = new ArrayList<>();
+        // last committed checkpoint
+        private EmployeeImportJob job;
+        private volatile EmployeeImportProgress progress;
+
+        private RunningImport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void update(EmployeeImportJob job, List<EmployeeImportError> newErrors) {
+            this.job = job;
+            for (EmployeeImportError error : newErrors) {
+                if (errors.size() == maxErrors) {
+                    break;
+                }
+                errors.add(error);
+            }
+            progress = progress(job, List.copyOf(errors));
+        }
+    }
+}
@@ -1,33 +1,228 @@
 package net.tigrisTesting.service.impl;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import net.tigrisTesting.cache.CacheLease;
+import net.tigrisTesting.cache.EmailBloomFilter;
+import net.tigrisTesting.cache.EmployeeSearchIndex;
+import net.tigrisTesting.cache.TransactionCallbacks;
+import net.tigrisTesting.config.CacheConfig;
+import net.tigrisTesting.dto.BulkChangeResult;
+import net.tigrisTesting.dto.BulkCreateResult;
+import net.tigrisTesting.dto.BulkItemResult;
+import net.tigrisTesting.dto.BulkItemStatus;
+import net.tigrisTesting.dto.EmployeeField;
+import net.tigrisTesting.dto.EmployeeFieldPage;
+import net.tigrisTesting.dto.EmployeeFilter;
+import net.tigrisTesting.dto.EmployeePage;
+import net.tigrisTesting.dto.NameMatch;
+import net.tigrisTesting.exception.BadRequestException;
+import net.tigrisTesting.exception.DuplicateEmailException;
+import net.tigrisTesting.exception.PreconditionFailedException;
 import net.tigrisTesting.exception.ResourceNotFoundException;
 import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeBatchRepository;
+import net.tigrisTesting.repository.EmployeeFieldRepository;
 import net.tigrisTesting.repository.EmployeeRepository;
+import net.tigrisTesting.repository.EmployeeSearchRepository;
+import net.tigrisTesting.service.EmployeeCursor;
 import net.tigrisTesting.service.EmployeeService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.Nullable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_BULK_SIZE = 10000;
+    static final String DUPLICATE_EMAILS = "employee.duplicate.emails";
+
     private EmployeeRepository employeeRepository;
+    private EmployeeBatchRepository employeeBatchRepository;
+    private EmployeeSearchRepository employeeSearchRepository;
+    private EmployeeFieldRepository employeeFieldRepository;
+    private EmailBloomFilter emailBloomFilter;
+    private EmployeeSearchIndex employeeSearchIndex;
+    private CacheManager cacheManager;
+    private EntityManager entityManager;
+    // rejected emails by where the duplicate was caught: the filtered lookup, the unique index
+    // (a concurrent insert or a filter miss) or, for bulk requests and coalesced creates, the request itself
+    private Counter lookupDuplicates;
+    private Counter constraintDuplicates;
+    private Counter bulkLookupDuplicates;
+    private Counter bulkRequestDuplicates;
+    private Counter bulkConstraintDuplicates;
+    // only present with employee.create.coalescing.enabled=true
+    private EmployeeCreateCoalescer createCoalescer;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EmployeeBatchRepository employeeBatchRepository,
+                               EmployeeSearchRepository employeeSearchRepository,
+                               EmployeeFieldRepository employeeFieldRepository, EmailBloomFilter emailBloomFilter,
+                               EmployeeSearchIndex employeeSearchIndex, CacheManager cacheManager,
+                               EntityManager entityManager, MeterRegistry meterRegistry,
+                               @Nullable EmployeeCreateCoalescer createCoalescer) {
         this.employeeRepository = employeeRepository;
+        this.employeeBatchRepository = employeeBatchRepository;
+        this.employeeSearchRepository = employeeSearchRepository;
+        this.employeeFieldRepository = employeeFieldRepository;
+        this.emailBloomFilter = emailBloomFilter;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.cacheManager = cacheManager;
+        this.entityManager = entityManager;
+        this.lookupDuplicates = duplicates(meterRegistry, "create", "lookup");
+        this.constraintDuplicates = duplicates(meterRegistry, "create", "constraint");
+        this.bulkLookupDuplicates = duplicates(meterRegistry, "bulk", "lookup");
+        this.bulkRequestDuplicates = duplicates(meterRegistry, "bulk", "request");
+        this.bulkConstraintDuplicates = duplicates(meterRegistry, "bulk", "constraint");
+        this.createCoalescer = createCoalescer;
+    }
+
+    static Counter duplicates(MeterRegistry meterRegistry, String operation, String detectedBy) {
+        return Counter.builder(DUPLICATE_EMAILS)
+                .description("employee writes rejected for an email that is already taken")
+                .tag("operation", operation)
+                .tag("detected.by", detectedBy)
+                .register(meterRegistry);
     }
 
     @Override
     public Employee saveEmployee(Employee employee) {
 
-        Optional<Employee> employeeDb = Optional.ofNullable(employeeRepository.findByEmail(employee.getEmail()));
+        if (createCoalescer != null) {
+            return createCoalescer.create(employee);
+        }
+
+        // only emails the filter may have seen need the lookup, the unique index catches the rest
+        if (emailBloomFilter.mightContain(employee.getEmail())) {
+            Optional<Employee> employeeDb = Optional.ofNullable(employeeRepository.findByEmail(employee.getEmail()));
+
+            if (employeeDb.isPresent()){
+                lookupDuplicates.increment();
+                throw new DuplicateEmailException(employee.getEmail());
+            }
+        }
+
+        Employee savedEmployee;
+        try {
+            savedEmployee = employeeRepository.save(employee);
+        } catch (DataIntegrityViolationException e) {
+            if (!EmailConstraint.isViolatedBy(e)) {
+                throw e;
+            }
+            constraintDuplicates.increment();
+            throw new DuplicateEmailException(employee.getEmail(), e);
+        }
+        emailBloomFilter.put(savedEmployee.getEmail());
+        return savedEmployee;
+    }
+
+    @Override
+    public BulkCreateResult saveEmployees(List<Employee> employees) {
+
+        if (employees.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("Bulk create accepts at most " + MAX_BULK_SIZE + " employees");
+        }
+        BulkItemResult[] results = new BulkItemResult[employees.size()];
+
+        // lower case email -> request index of the first item using it, case is ignored like the unique
+        // index does under mysql's default collation
+        Map<String, Integer> pending = new LinkedHashMap<>();
+        for (int index = 0; index < employees.size(); index++) {
+            String email = employees.get(index).getEmail();
+            if (email == null || email.isBlank()) {
+                results[index] = BulkItemResult.failed(index, "Employee email is required");
+            } else if (pending.putIfAbsent(email.toLowerCase(Locale.ROOT), index) != null) {
+                bulkRequestDuplicates.increment();
+                results[index] = BulkItemResult.failed(index, "Duplicate email in request :" + email);
+            }
+        }
+
+        List<Integer> indexes = new ArrayList<>(pending.values());
+        int batchSize = employeeBatchRepository.getBatchSize();
+        for (int from = 0; from < indexes.size(); from += batchSize) {
+            createChunk(employees, indexes.subList(from, Math.min(from + batchSize, indexes.size())), results);
+        }
+
+        int created = (int) Arrays.stream(results).filter(result -> result.getStatus() == BulkItemStatus.CREATED).count();
+        return new BulkCreateResult(created, results.length - created, Arrays.asList(results));
+    }
 
-        if (employeeDb.isPresent()){
-            throw  new ResourceNotFoundException("Employee already exist with this mail :" + employee.getEmail());
+    // one duplicate lookup and one batched insert per chunk
+    private void createChunk(List<Employee> employees, List<Integer> chunk, BulkItemResult[] results) {
+
+        List<String> candidates = chunk.stream()
+                .map(index -> employees.get(index).getEmail())
+                .filter(emailBloomFilter::mightContain)
+                .toList();
+        Set<String> existing = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            employeeRepository.findExistingEmails(candidates).forEach(email -> existing.add(email.toLowerCase(Locale.ROOT)));
         }
 
-        return employeeRepository.save(employee);
+        List<Integer> insertIndexes = new ArrayList<>();
+        List<Employee> batch = new ArrayList<>();
+        for (int index : chunk) {
+            Employee employee = employees.get(index);
+            if (existing.contains(employee.getEmail().toLowerCase(Locale.ROOT))) {
+                bulkLookupDuplicates.increment();
+                results[index] = BulkItemResult.failed(index, "Employee already exist with this mail :" + employee.getEmail());
+            } else {
+                insertIndexes.add(index);
+                batch.add(employee);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            employeeBatchRepository.insertBatch(batch);
+            insertIndexes.forEach(index -> created(employees, index, results));
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent create took an email or a row broke another constraint, find out which row it was
+            for (int index : insertIndexes) {
+                Employee employee = employees.get(index);
+                try {
+                    employeeBatchRepository.insertBatch(List.of(employee));
+                    created(employees, index, results);
+                } catch (DataIntegrityViolationException violation) {
+                    if (EmailConstraint.isViolatedBy(violation)) {
+                        bulkConstraintDuplicates.increment();
+                        results[index] = BulkItemResult.failed(index, "Employee already exist with this mail :" + employee.getEmail());
+                    } else {
+                        results[index] = BulkItemResult.failed(index, "Insert failed :" + violation.getMostSpecificCause().getMessage());
+                    }
+                } catch (DataAccessException failure) {
+                    results[index] = BulkItemResult.failed(index, "Insert failed :" + failure.getMostSpecificCause().getMessage());
+                }
+            }
+        } catch (DataAccessException e) {
+            for (int index : insertIndexes) {
+                results[index] = BulkItemResult.failed(index, "Batch insert failed :" + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void created(List<Employee> employees, int index, BulkItemResult[] results) {
+        Employee employee = employees.get(index);
+        emailBloomFilter.put(employee.getEmail());
+        // jdbc inserts bypass the entity listener that indexes persisted employees
+        employeeSearchIndex.put(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+        results[index] = BulkItemResult.created(index, employee.getId());
     }
 
     @Override
@@ -35,18 +230,366 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employeeRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeePage(String after, int limit) {
+
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive :" + limit);
+        }
+        long afterId = EmployeeCursor.decode(after);
+
+        Slice<Employee> slice = employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId,
+                PageRequest.of(0, Math.min(limit, MAX_PAGE_SIZE)));
+
+        List<Employee> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? EmployeeCursor.encode(content.get(content.size() - 1).getId()) : null;
+        return new EmployeePage(content, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllEmployees(String fields) {
+        return employeeFieldRepository.findAll(parseFields(fields));
+    }
+
+    // the cursor needs the id of the last row, so it is always selected and dropped again if not requested
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeFieldPage getEmployeePage(String after, int limit, String fields) {
+
+        List<EmployeeField> requested = parseFields(fields);
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive :" + limit);
+        }
+        long afterId = EmployeeCursor.decode(after);
+
+        boolean withId = requested.contains(EmployeeField.ID);
+        List<EmployeeField> selected = requested;
+        if (!withId) {
+            selected = new ArrayList<>(requested.size() + 1);
+            selected.add(EmployeeField.ID);
+            selected.addAll(requested);
+        }
+        Slice<Map<String, Object>> slice = employeeFieldRepository.findByIdGreaterThan(afterId, selected,
+                Math.min(limit, MAX_PAGE_SIZE));
+
+        List<Map<String, Object>> content = slice.getContent();
+        String nextCursor = slice.hasNext()
+                ? EmployeeCursor.encode((Long) content.get(content.size() - 1).get(EmployeeField.ID.getProperty()))
+                : null;
+        if (!withId) {
+            content.forEach(row -> row.remove(EmployeeField.ID.getProperty()));
+        }
+        return new EmployeeFieldPage(content, nextCursor);
+    }
+
+    // both steps read the same snapshot, so the cursor built from the loaded rows matches the keyset query
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage searchEmployees(String firstName, String lastName, NameMatch match, String after, int limit) {
+
+        firstName = blankToNull(firstName);
+        lastName = blankToNull(lastName);
+        if (firstName == null && lastName == null) {
+            throw new BadRequestException("firstName or lastName is required");
+        }
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive :" + limit);
+        }
+        int keyCount = match == NameMatch.PREFIX ? (firstName == null ? 0 : 1) + (lastName == null ? 0 : 1) : 0;
+        EmployeeCursor.NamePosition position = EmployeeCursor.decodeName(after, keyCount);
+
+        Slice<EmployeeSearchRepository.NameKey> keys = employeeSearchRepository.findKeysByName(firstName, lastName, match,
+                position == null ? List.of() : position.getKeys(), position == null ? null : position.getId(),
+                Math.min(limit, MAX_PAGE_SIZE));
+        List<Employee> content = employeeSearchRepository.findAllByIdInOrder(
+                keys.getContent().stream().map(EmployeeSearchRepository.NameKey::getId).toList());
+
+        // the cursor comes from the keyset row, not the loaded employees: rows deleted in between
+        // shrink the page but cannot stop it from moving forward
+        String nextCursor = null;
+        if (keys.hasNext()) {
+            EmployeeSearchRepository.NameKey last = keys.getContent().get(keys.getContent().size() - 1);
+            nextCursor = EmployeeCursor.encodeName(last.getKeys(), last.getId());
+        }
+        return new EmployeePage(content, nextCursor);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // answered by the in-memory trigram index only
+    @Override
+    public List<Long> fuzzySearchEmployees(String query, int limit) {
+
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("query is required");
+        }
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive :" + limit);
+        }
+        return employeeSearchIndex.search(query, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> consumer) {
+
+        try (Stream<Employee> employees = employeeRepository.streamAllBy()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // keep the persistence context empty so heap stays flat for any table size
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    // the cache holds its own instance and every reader gets a copy of it, so a caller changing the
+    // employee it got cannot change what the next reader sees. misses are not cached so a freshly
+    // created id is visible right away. the load runs under a lease, so a row read before a
+    // concurrent write is not cached after the write's eviction
     @Override
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE);
+        Employee cachedEmployee = CacheLease.get(cache, id, Employee.class);
+        if (cachedEmployee != null) {
+            return Optional.of(cachedEmployee.toBuilder().build());
+        }
+        CacheLease lease = CacheLease.acquire(cache, id);
+        try {
+            Optional<Employee> employee = employeeRepository.findById(id);
+            if (lease != null) {
+                employee.ifPresent(found -> lease.fill(found.toBuilder().build()));
+            }
+            return employee;
+        } finally {
+            if (lease != null) {
+                lease.release();
+            }
+        }
+    }
+
+    // a cached employee is projected in memory, otherwise only the requested columns are read
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getEmployeeById(long id, String fields) {
+
+        List<EmployeeField> requested = parseFields(fields);
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE);
+        Employee cachedEmployee = CacheLease.get(cache, id, Employee.class);
+        if (cachedEmployee != null) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            requested.forEach(field -> row.put(field.getProperty(), field.getAccessor().apply(cachedEmployee)));
+            return Optional.of(row);
+        }
+        return employeeFieldRepository.findById(id, requested);
+    }
+
+    // "id,email" -> [ID, EMAIL] in request order, repeats are dropped
+    private static List<EmployeeField> parseFields(String fields) {
+
+        Set<EmployeeField> parsed = new LinkedHashSet<>();
+        for (String property : fields.split(",")) {
+            if (property.isBlank()) {
+                continue;
+            }
+            EmployeeField field = EmployeeField.fromProperty(property.trim());
+            if (field == null) {
+                throw new BadRequestException("Unknown field :" + property.trim());
+            }
+            parsed.add(field);
+        }
+        if (parsed.isEmpty()) {
+            throw new BadRequestException("fields must name at least one field");
+        }
+        return new ArrayList<>(parsed);
+    }
+
+    // answered from the entity cache when possible, otherwise by a version only (query cached) select
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getEmployeeVersion(long id) {
+
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE);
+        Employee cachedEmployee = CacheLease.get(cache, id, Employee.class);
+        if (cachedEmployee != null && cachedEmployee.getVersion() != null) {
+            return Optional.of(cachedEmployee.getVersion());
+        }
+        return employeeRepository.findVersionById(id);
     }
 
+    // the new version is unknown without another select, so the returned employee carries none
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.EMPLOYEE_CACHE, CacheConfig.EMPLOYEE_JSON_CACHE}, key = "#employee.id")
     public Employee updateEmployee(Employee employee) {
-        return null;
+
+        update(employee, null);
+        employee.setVersion(null);
+        return employee;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.EMPLOYEE_CACHE, CacheConfig.EMPLOYEE_JSON_CACHE}, key = "#employee.id")
+    public Employee updateEmployee(Employee employee, long expectedVersion) {
+
+        update(employee, expectedVersion);
+        employee.setVersion(expectedVersion + 1);
+        return employee;
+    }
+
+    private void update(Employee employee, Long expectedVersion) {
+
+        int updated;
+        try {
+            updated = employeeRepository.updateById(employee.getId(), employee.getFirstName(),
+                    employee.getLastName(), employee.getEmail(), expectedVersion);
+        } catch (DataIntegrityViolationException e) {
+            if (!EmailConstraint.isViolatedBy(e)) {
+                throw e;
+            }
+            throw new DuplicateEmailException(employee.getEmail(), e);
+        }
+        if (updated == 0) {
+            throw notUpdated(employee.getId(), expectedVersion);
+        }
+        emailBloomFilter.put(employee.getEmail());
+        // jpql writes skip the entity listeners
+        TransactionCallbacks.afterCommit(() -> employeeSearchIndex.put(employee.getId(), employee.getFirstName(),
+                employee.getLastName(), employee.getEmail()));
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.EMPLOYEE_CACHE, CacheConfig.EMPLOYEE_JSON_CACHE}, key = "#id")
+    public void patchEmployee(long id, Employee patch) {
+
+        patch(id, patch, null);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.EMPLOYEE_CACHE, CacheConfig.EMPLOYEE_JSON_CACHE}, key = "#id")
+    public long patchEmployee(long id, Employee patch, long expectedVersion) {
+
+        patch(id, patch, expectedVersion);
+        return expectedVersion + 1;
+    }
+
+    private void patch(long id, Employee patch, Long expectedVersion) {
+
+        int updated;
+        try {
+            updated = employeeRepository.patchById(id, patch.getFirstName(), patch.getLastName(), patch.getEmail(),
+                    expectedVersion);
+        } catch (DataIntegrityViolationException e) {
+            if (!EmailConstraint.isViolatedBy(e)) {
+                throw e;
+            }
+            throw new DuplicateEmailException(patch.getEmail(), e);
+        }
+        if (updated == 0) {
+            throw notUpdated(id, expectedVersion);
+        }
+        emailBloomFilter.put(patch.getEmail());
+        TransactionCallbacks.afterCommit(() -> employeeSearchIndex.patch(id, patch.getFirstName(), patch.getLastName(),
+                patch.getEmail()));
+    }
+
+    // zero rows: either the id is gone or, for conditional writes, someone else changed it first
+    private RuntimeException notUpdated(long id, Long expectedVersion) {
+
+        if (expectedVersion != null && employeeRepository.findVersionById(id).isPresent()) {
+            return new PreconditionFailedException("Employee " + id + " is no longer at version " + expectedVersion);
+        }
+        return new ResourceNotFoundException("Employee not found with id :" + id);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.EMPLOYEE_CACHE, CacheConfig.EMPLOYEE_JSON_CACHE}, key = "#id")
     public void deleteEmployee(long id) {
 
+        if (employeeRepository.deleteEmployeeById(id) == 0) {
+            throw new ResourceNotFoundException("Employee not found with id :" + id);
+        }
+        TransactionCallbacks.afterCommit(() -> employeeSearchIndex.remove(id));
+    }
+
+    // no surrounding transaction: each chunk is its own statement and commit, so a failure keeps the
+    // chunks before it. caches are evicted and the search index updated per committed chunk
+    @Override
+    public BulkChangeResult updateEmployees(EmployeeFilter filter, String firstName, String lastName) {
+
+        if (firstName == null && lastName == null) {
+            throw new BadRequestException("Bulk update needs a firstName or lastName");
+        }
+        return forEachChunk(filter, ids -> {
+            int updated = employeeRepository.patchByIds(ids, firstName, lastName);
+            ids.forEach(id -> employeeSearchIndex.patch(id, firstName, lastName, null));
+            return updated;
+        });
+    }
+
+    @Override
+    public BulkChangeResult deleteEmployees(EmployeeFilter filter) {
+
+        return forEachChunk(filter, ids -> {
+            int deleted = employeeRepository.deleteByIds(ids);
+            ids.forEach(employeeSearchIndex::remove);
+            return deleted;
+        });
+    }
+
+    private BulkChangeResult forEachChunk(EmployeeFilter filter, ToIntFunction<List<Long>> write) {
+
+        if (filter == null || (filter.getIds() == null) == (filter.getEmailDomain() == null)) {
+            throw new BadRequestException("Bulk filter needs either ids or an emailDomain");
+        }
+        int batchSize = employeeBatchRepository.getBatchSize();
+        long affected = 0;
+        int chunks = 0;
+        if (filter.getIds() != null) {
+            List<Long> ids = filter.getIds().stream().filter(Objects::nonNull).distinct().toList();
+            if (ids.size() > MAX_BULK_SIZE) {
+                throw new BadRequestException("Bulk change accepts at most " + MAX_BULK_SIZE + " ids");
+            }
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                affected += write.applyAsInt(chunk);
+                evict(chunk);
+                chunks++;
+            }
+            return new BulkChangeResult(affected, chunks);
+        }
+
+        String domain = filter.getEmailDomain().trim();
+        if (domain.isEmpty() || domain.contains("@")) {
+            throw new BadRequestException("Invalid email domain :" + filter.getEmailDomain());
+        }
+        String pattern = "%@" + domain.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        long afterId = 0;
+        List<Long> chunk;
+        while (!(chunk = employeeRepository.findIdsByEmailLike(pattern, afterId, PageRequest.of(0, batchSize))).isEmpty()) {
+            affected += write.applyAsInt(chunk);
+            evict(chunk);
+            chunks++;
+            afterId = chunk.get(chunk.size() - 1);
+        }
+        return new BulkChangeResult(affected, chunks);
+    }
+
+    // after the chunk committed, a concurrent read's lease goes with it so the old row is not cached again
+    private void evict(List<Long> ids) {
+        for (String name : List.of(CacheConfig.EMPLOYEE_CACHE, CacheConfig.EMPLOYEE_JSON_CACHE)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                ids.forEach(cache::evict);
+            }
+        }
     }
 }
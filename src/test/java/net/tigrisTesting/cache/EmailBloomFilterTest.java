@@ -0,0 +1,56 @@
+package net.tigrisTesting.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailBloomFilterTest {
+
+    @Test
+    @DisplayName("Cold filter answers maybe for every email")
+    public void givenColdFilter_whenMightContain_thenTrue() {
+        EmailBloomFilter filter = new EmailBloomFilter(1000, 0.01);
+
+        assertThat(filter.mightContain("bilal@mail.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Warm filter has no false negatives and ignores case")
+    public void givenWarmFilter_whenMightContain_thenNoFalseNegatives() {
+        //given --precondition operation
+        EmailBloomFilter filter = new EmailBloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("user" + i + "@mail.com");
+        }
+        filter.markWarm();
+
+        //then verify the output
+        for (int i = 0; i < 10000; i++) {
+            assertThat(filter.mightContain("user" + i + "@mail.com")).isTrue();
+        }
+        assertThat(filter.mightContain("USER42@MAIL.COM")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Warm filter keeps the false positive rate near the configured bound")
+    public void givenWarmFilter_whenMightContainUnknownEmails_thenFewFalsePositives() {
+        //given --precondition operation
+        EmailBloomFilter filter = new EmailBloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("user" + i + "@mail.com");
+        }
+        filter.markWarm();
+
+        //when --action that we are going test
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other" + i + "@mail.com")) {
+                falsePositives++;
+            }
+        }
+
+        //then verify the output
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
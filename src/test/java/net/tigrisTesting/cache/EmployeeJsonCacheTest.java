@@ -0,0 +1,131 @@
+package net.tigrisTesting.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import net.tigrisTesting.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Employee employee(long id) {
+        return Employee.builder().id(id).firstName("bilal").lastName("yakut").email("bilal" + id + "@mail.com").version(2L).build();
+    }
+
+    private static Cache<Object, Object> cache(long maxBytes) {
+        return EmployeeJsonCache.caffeine(maxBytes, Duration.ofMinutes(10));
+    }
+
+    private static byte[] written(EmployeeJson json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.writeTo(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Cached json round trips")
+    public void givenEmployee_whenPut_thenGetReturnsSameJson() throws Exception {
+        //given --precondition operation
+        EmployeeJsonCache jsonCache = new EmployeeJsonCache(cache(1 << 20), objectMapper, true, false);
+
+        //when --action that we are going test
+        jsonCache.put(employee(1L), jsonCache.lease(1L));
+
+        //then verify the output
+        assertThat(written(jsonCache.get(1L))).isEqualTo(objectMapper.writeValueAsBytes(employee(1L)));
+        assertThat(jsonCache.get(1L).isOffHeap()).isFalse();
+        assertThat(jsonCache.get(1L).getVersion()).isEqualTo(2L);
+        assertThat(jsonCache.get(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Off-heap json is written whole by every response and weighed by its size")
+    public void givenOffHeap_whenPut_thenDirectBufferWrittenAndWeighed() throws Exception {
+        //given --precondition operation
+        Cache<Object, Object> cache = cache(1 << 20);
+        EmployeeJsonCache jsonCache = new EmployeeJsonCache(cache, objectMapper, true, true);
+
+        //when --action that we are going test
+        jsonCache.put(employee(1L), jsonCache.lease(1L));
+        EmployeeJson json = jsonCache.get(1L);
+
+        //then verify the output
+        byte[] expected = objectMapper.writeValueAsBytes(employee(1L));
+        assertThat(json.isOffHeap()).isTrue();
+        assertThat(written(json)).isEqualTo(expected);
+        assertThat(written(json)).isEqualTo(expected);
+        assertThat(json.size()).isEqualTo(expected.length);
+        assertThat(cache.policy().eviction().orElseThrow().weightedSize().orElseThrow())
+                .isEqualTo(expected.length + 96L);
+    }
+
+    @Test
+    @DisplayName("Json loaded before a concurrent eviction is not cached")
+    public void givenEvictionWhileLoading_whenPut_thenNotCached() throws Exception {
+        //given --precondition operation
+        Cache<Object, Object> cache = cache(1 << 20);
+        EmployeeJsonCache jsonCache = new EmployeeJsonCache(cache, objectMapper, true, false);
+        EmployeeJsonCache.Lease lease = jsonCache.lease(1L);
+
+        //when --action that we are going test
+        // a write committed and evicted the id while the old row was being loaded
+        cache.invalidate(1L);
+        EmployeeJson stale = jsonCache.put(employee(1L), lease);
+        EmployeeJsonCache.Lease second = jsonCache.lease(1L);
+        EmployeeJsonCache.Lease concurrent = jsonCache.lease(1L);
+
+        //then verify the output
+        assertThat(stale.getVersion()).isEqualTo(2L);
+        assertThat(jsonCache.get(1L)).isNull();
+        assertThat(second).isNotNull();
+        assertThat(concurrent).isNull();
+        jsonCache.release(second);
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Cache stays within its byte budget")
+    public void givenManyEmployees_whenPut_thenWeightBounded() throws Exception {
+        //given --precondition operation
+        Cache<Object, Object> cache = cache(4096);
+        EmployeeJsonCache jsonCache = new EmployeeJsonCache(cache, objectMapper, true, false);
+
+        //when --action that we are going test
+        for (long id = 1; id <= 200; id++) {
+            jsonCache.put(employee(id), jsonCache.lease(id));
+        }
+        cache.cleanUp();
+
+        //then verify the output
+        long weight = cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertThat(weight).isLessThanOrEqualTo(4096);
+        assertThat(cache.estimatedSize()).isLessThan(200);
+    }
+
+    @Test
+    @DisplayName("Disabled cache serializes but never stores")
+    public void givenDisabledCache_whenPut_thenNothingCached() throws Exception {
+        //given --precondition operation
+        Cache<Object, Object> cache = cache(1 << 20);
+        EmployeeJsonCache jsonCache = new EmployeeJsonCache(cache, objectMapper, false, false);
+
+        //when --action that we are going test
+        EmployeeJson json = jsonCache.put(employee(1L), jsonCache.lease(1L));
+
+        //then verify the output
+        assertThat(json.getVersion()).isEqualTo(2L);
+        assertThat(jsonCache.get(1L)).isNull();
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThatThrownBy(() -> jsonCache.put(Employee.builder().id(3L).build(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
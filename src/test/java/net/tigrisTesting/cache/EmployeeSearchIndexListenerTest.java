@@ -0,0 +1,45 @@
+package net.tigrisTesting.cache;
+
+import net.tigrisTesting.config.SearchIndexConfig;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// repository calls commit on their own, so the after commit index updates run
+@DataJpaTest
+@Import(SearchIndexConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSearchIndexListenerTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Test
+    @DisplayName("Persisted and removed employees are reflected in the search index")
+    public void givenSavedEmployee_whenSearch_thenIndexFollowsWrites() {
+        //given --precondition operation
+        assertThat(employeeSearchIndex.isWarm()).isTrue();
+        Employee employee = employeeRepository.save(Employee.builder()
+                .firstName("bilal")
+                .lastName("yakut")
+                .email("bilalykt@mail.com")
+                .build());
+
+        //when --action that we are going test
+        assertThat(employeeSearchIndex.search("bilal yakut", 10)).containsExactly(employee.getId());
+        employeeRepository.delete(employee);
+
+        //then verify the output
+        assertThat(employeeSearchIndex.search("bilal yakut", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,102 @@
+package net.tigrisTesting.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new EmployeeSearchIndex(0.4);
+        index.put(1L, "bilal", "yakut", "bilalykt@mail.com");
+        index.put(2L, "jenny", "smith", "jenny@mail.com");
+        index.put(3L, "bilal", "yaman", "byaman@mail.com");
+    }
+
+    @Test
+    @DisplayName("Misspelled query finds the closest employee first")
+    public void givenTypo_whenSearch_thenClosestEmployeeFirst() {
+        //when --action that we are going test
+        assertThat(index.search("bilall yakutt", 10)).startsWith(1L).contains(3L).doesNotContain(2L);
+        assertThat(index.search("JENY", 10)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Search is limited and unrelated text has no hits")
+    public void givenLimit_whenSearch_thenAtMostLimitIds() {
+        //then verify the output
+        assertThat(index.search("bilal", 1)).hasSize(1);
+        assertThat(index.search("zzzz", 10)).isEmpty();
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Put replaces, patch keeps missing fields and remove drops the employee")
+    public void givenChanges_whenSearch_thenLatestValuesOnly() {
+        //when --action that we are going test
+        index.put(2L, "jane", "smith", "jane@mail.com");
+        index.patch(3L, null, "kaya", null);
+        index.remove(1L);
+        index.put(4L, "ayse", "kaya", "ayse@mail.com");
+
+        //then verify the output
+        assertThat(index.search("jenny", 10)).isEmpty();
+        assertThat(index.search("jane", 10)).containsExactly(2L);
+        assertThat(index.search("bilal kaya", 10)).containsExactly(3L, 4L);
+        assertThat(index.search("yakut", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Writes made while the startup load runs win over the rows it read")
+    public void givenWritesDuringLoad_whenLoad_thenLiveWritesKept() {
+        //given --precondition operation
+        EmployeeSearchIndex loading = new EmployeeSearchIndex(0.4);
+        loading.remove(1L);
+        loading.put(2L, "jane", "smith", "jane@mail.com");
+        loading.patch(3L, null, "kaya", null);
+
+        //when --action that we are going test
+        // rows as the load read them, before the writes above
+        loading.load(1L, "bilal", "yakut", "bilalykt@mail.com");
+        loading.load(2L, "jenny", "smith", "jenny@mail.com");
+        loading.load(3L, "bilal", "yaman", "byaman@mail.com");
+        loading.load(4L, "ayse", "kaya", "ayse@mail.com");
+        loading.markWarm();
+        loading.load(5L, "late", "row", "late@mail.com");
+
+        //then verify the output
+        assertThat(loading.search("yakut", 10)).isEmpty();
+        assertThat(loading.search("jenny", 10)).isEmpty();
+        assertThat(loading.search("jane", 10)).containsExactly(2L);
+        assertThat(loading.search("bilal kaya", 10)).containsExactly(3L, 4L);
+        assertThat(loading.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Queries hitting thousands of employees keep ranking and limit")
+    public void givenManyCandidates_whenSearch_thenBestMatchesFirst() {
+        //given --precondition operation
+        EmployeeSearchIndex large = new EmployeeSearchIndex(0.4);
+        for (long id = 1; id <= 5000; id++) {
+            large.put(id, "bilal" + id, "yakut", "user" + id + "@mail.com");
+        }
+        for (long id = 1; id <= 5000; id += 2) {
+            large.remove(id);
+        }
+
+        //when --action that we are going test
+        List<Long> hits = large.search("bilal4242 yakut", 5);
+
+        //then verify the output
+        assertThat(hits).hasSize(5).startsWith(4242L).allMatch(id -> id % 2 == 0);
+        assertThat(large.search("user4243", 10)).doesNotContain(4243L);
+    }
+}
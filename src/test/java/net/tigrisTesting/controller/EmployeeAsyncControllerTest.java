@@ -0,0 +1,160 @@
+package net.tigrisTesting.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncListener;
+import net.tigrisTesting.exception.PreconditionFailedException;
+import net.tigrisTesting.exception.ResourceNotFoundException;
+import net.tigrisTesting.exception.ServiceUnavailableException;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.service.EmployeeAsyncService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeAsyncController.class)
+class EmployeeAsyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeAsyncService employeeAsyncService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    //test for create employee on the async controller
+    @Test
+    @DisplayName("Test for async create employee controller")
+    public void givenEmployeeObject_whenEmployeeCreate_thenReturnEmployeeObject() throws Exception {
+        //given --precondition operation
+        Employee employee = Employee.builder()
+                .firstName("bilal")
+                .lastName("yakut")
+                .email("bilalykt@mail.com")
+                .build();
+        given(employeeAsyncService.saveEmployee(any(Employee.class)))
+                .willAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+
+        //when --action that we are going test
+        MvcResult result = mockMvc.perform(post("/api/async/employee/")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.firstName", CoreMatchers.is(employee.getFirstName())))
+                .andExpect(jsonPath("$.email", CoreMatchers.is(employee.getEmail())));
+    }
+
+    //test for the If-None-Match revalidation on the async controller
+    @Test
+    @DisplayName("Test for async get employee by id with matching If-None-Match")
+    public void givenMatchingETag_whenGetEmployeeById_thenReturn304() throws Exception {
+        //given --precondition operation
+        given(employeeAsyncService.getEmployeeVersion(1L)).willReturn(CompletableFuture.completedFuture(Optional.of(3L)));
+
+        //when --action that we are going test
+        MvcResult result = mockMvc.perform(get("/api/async/employee/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        verify(employeeAsyncService, never()).getEmployeeById(1L);
+    }
+
+    //test for service exceptions keeping their status on the async controller
+    @Test
+    @DisplayName("Test for async update employee failures")
+    public void givenFailedFutures_whenUpdateEmployee_thenReturnExceptionStatus() throws Exception {
+        //given --precondition operation
+        given(employeeAsyncService.updateEmployee(any(Employee.class)))
+                .willReturn(CompletableFuture.supplyAsync(() -> {
+                    throw new ResourceNotFoundException("Employee not found with id :1");
+                }));
+        given(employeeAsyncService.updateEmployee(any(Employee.class), eq(2L)))
+                .willReturn(CompletableFuture.failedFuture(new PreconditionFailedException("Employee 1 is no longer at version 2")));
+        String body = objectMapper.writeValueAsString(Employee.builder().firstName("bilal").build());
+
+        //when --action that we are going test
+        MvcResult notFound = mockMvc.perform(put("/api/async/employee/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn();
+        MvcResult stale = mockMvc.perform(put("/api/async/employee/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn();
+
+        //then verify the output
+        mockMvc.perform(asyncDispatch(notFound)).andExpect(status().isNotFound());
+        mockMvc.perform(asyncDispatch(stale)).andExpect(status().isPreconditionFailed());
+    }
+
+    //test for a saturated executor on the async controller
+    @Test
+    @DisplayName("Test for async get all employees when the executor rejects the call")
+    public void givenRejectedCall_whenGetAllEmployees_thenReturn503() throws Exception {
+        //given --precondition operation
+        given(employeeAsyncService.getAllEmployees())
+                .willReturn(CompletableFuture.failedFuture(new ServiceUnavailableException("Employee executor is saturated")));
+
+        //when --action that we are going test
+        MvcResult result = mockMvc.perform(get("/api/async/employee/")).andReturn();
+
+        //then verify the output
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isServiceUnavailable());
+    }
+
+    //test for the per request timeout on the async controller
+    @Test
+    @DisplayName("Test for async delete employee that times out")
+    public void givenSlowCall_whenTimeout_thenReturn503AndCancelTask() throws Exception {
+        //given --precondition operation
+        CompletableFuture<Void> task = new CompletableFuture<>();
+        given(employeeAsyncService.deleteEmployee(1L)).willReturn(task);
+
+        //when --action that we are going test
+        MvcResult result = mockMvc.perform(delete("/api/async/employee/{id}", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(null);
+        }
+
+        //then verify the output
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isServiceUnavailable());
+        assertThat(task.isCancelled()).isTrue();
+    }
+}
@@ -2,6 +2,22 @@ package net.tigrisTesting.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import net.tigrisTesting.cache.EmployeeJson;
+import net.tigrisTesting.cache.EmployeeJsonCache;
+import net.tigrisTesting.converter.EmployeeProtobuf;
+import net.tigrisTesting.converter.EmployeeProtobufHttpMessageConverter;
+import net.tigrisTesting.dto.BulkChangeResult;
+import net.tigrisTesting.dto.BulkCreateResult;
+import net.tigrisTesting.dto.BulkItemResult;
+import net.tigrisTesting.dto.BulkUpdateRequest;
+import net.tigrisTesting.dto.EmployeeFieldPage;
+import net.tigrisTesting.dto.EmployeeFilter;
+import net.tigrisTesting.dto.EmployeePage;
+import net.tigrisTesting.dto.NameMatch;
+import net.tigrisTesting.exception.ResourceNotFoundException;
 import net.tigrisTesting.model.Employee;
 import net.tigrisTesting.service.EmployeeService;
 import org.hamcrest.CoreMatchers;
@@ -9,25 +25,36 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
 class EmployeeControllerTest {
 
     @Autowired
@@ -36,6 +63,9 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeJsonCache employeeJsonCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -87,6 +117,56 @@ class EmployeeControllerTest {
     }
 
 
+    //test for binary formats of the list Rest Api, chosen by the Accept header
+    @Test
+    @DisplayName("Test for get all employees as smile, cbor and protobuf Rest Api")
+    public void givenBinaryAccept_whenGetAllEmployees_thenReturnThatFormat() throws Exception {
+        //given --precondition operation
+        List<Employee> listOfEmployees = List.of(
+                Employee.builder().id(1L).firstName("bilal").lastName("yakut").email("bilal@mail.com").version(3L).build(),
+                Employee.builder().id(2L).firstName("jenny").lastName("smith").email("jenny@mail.com").build());
+        given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+
+        //when --action that we are going test
+        byte[] smile = mockMvc.perform(get("/api/employee/").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/api/employee/").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] protobuf = mockMvc.perform(get("/api/employee/").accept(EmployeeProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(EmployeeProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        //then verify the output
+        TypeReference<List<Map<String, Object>>> rows = new TypeReference<>() {};
+        assertThat(new SmileMapper().readValue(smile, rows).get(0)).containsEntry("email", "bilal@mail.com");
+        assertThat(new CBORMapper().readValue(cbor, rows).get(1)).containsEntry("firstName", "jenny");
+        List<Employee> decoded = new EmployeeProtobuf().readEmployees(new ByteArrayInputStream(protobuf));
+        assertThat(decoded).extracting(Employee::getId).containsExactly(1L, 2L);
+        assertThat(decoded.get(0).getLastName()).isEqualTo("yakut");
+        assertThat(protobuf.length).isLessThan(objectMapper.writeValueAsBytes(listOfEmployees).length);
+    }
+
+    //test for protobuf on a body the schema does not describe
+    @Test
+    @DisplayName("Test for get employee page as protobuf Rest Api")
+    public void givenProtobufAccept_whenGetEmployeePage_thenNotAcceptable() throws Exception {
+        //given --precondition operation
+        given(employeeService.getEmployeePage(null, 2)).willReturn(new EmployeePage(List.of(), null));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/")
+                .param("limit", "2")
+                .accept(EmployeeProtobufHttpMessageConverter.PROTOBUF));
+
+        //then verify the output
+        response.andExpect(status().isNotAcceptable());
+    }
+
     //test for  get Employee ById Rest Api
     //positive scenario -if employee id valid
     @Test
@@ -155,4 +235,405 @@ class EmployeeControllerTest {
                 .andDo(print());
 
     }
-}
\ No newline at end of file
+
+    //test for keyset page of employees Rest Api
+    @Test
+    @DisplayName("Test for get employee page Rest Api")
+    public void givenCursorAndLimit_whenGetEmployeePage_thenReturnPage() throws Exception {
+        //given --precondition operation
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().id(1L).firstName("bilal").lastName("yakut").email("bilal@mail.com").build());
+        listOfEmployees.add(Employee.builder().id(2L).firstName("jenny").lastName("jenny").email("jenn@mail.com").build());
+        given(employeeService.getEmployeePage("abc", 2)).willReturn(new EmployeePage(listOfEmployees, "next"));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/")
+                .param("after", "abc")
+                .param("limit", "2"));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", CoreMatchers.is(listOfEmployees.size())))
+                .andExpect(jsonPath("$.nextCursor", CoreMatchers.is("next")));
+    }
+
+    //test for sparse field selection on the list Rest Api
+    @Test
+    @DisplayName("Test for get all employees with fields Rest Api")
+    public void givenFields_whenGetAllEmployees_thenReturnSelectedFields() throws Exception {
+        //given --precondition operation
+        given(employeeService.getAllEmployees("id,email"))
+                .willReturn(List.of(Map.of("id", 1L, "email", "bilal@mail.com")));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/").param("fields", "id,email"));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$[0].email", CoreMatchers.is("bilal@mail.com")))
+                .andExpect(jsonPath("$[0].firstName").doesNotExist());
+    }
+
+    //test for sparse field selection on the keyset page Rest Api
+    @Test
+    @DisplayName("Test for get employee page with fields Rest Api")
+    public void givenLimitAndFields_whenGetEmployeePage_thenReturnSelectedFieldsPage() throws Exception {
+        //given --precondition operation
+        given(employeeService.getEmployeePage(null, 2, "email"))
+                .willReturn(new EmployeeFieldPage(List.of(Map.of("email", "bilal@mail.com")), "next"));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/")
+                .param("limit", "2")
+                .param("fields", "email"));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email", CoreMatchers.is("bilal@mail.com")))
+                .andExpect(jsonPath("$.nextCursor", CoreMatchers.is("next")));
+    }
+
+    //test for sparse field selection on get by id Rest Api
+    @Test
+    @DisplayName("Test for get employee by id with fields Rest Api")
+    public void givenFields_whenGetEmployeeById_thenReturnSelectedFieldsWithoutETag() throws Exception {
+        //given --precondition operation
+        given(employeeService.getEmployeeById(1L, "firstName")).willReturn(Optional.of(Map.of("firstName", "bilal")));
+        given(employeeService.getEmployeeById(2L, "firstName")).willReturn(Optional.empty());
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/{id}", 1L).param("fields", "firstName"));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName", CoreMatchers.is("bilal")))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/employee/{id}", 2L).param("fields", "firstName"))
+                .andExpect(status().isNotFound());
+    }
+
+    //test for name search Rest Api
+    @Test
+    @DisplayName("Test for search employees by name Rest Api")
+    public void givenNamePrefix_whenSearchEmployees_thenReturnPage() throws Exception {
+        //given --precondition operation
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().id(1L).firstName("bilal").lastName("yakut").email("bilal@mail.com").build());
+        given(employeeService.searchEmployees(null, "ya", NameMatch.PREFIX, null, 100))
+                .willReturn(new EmployeePage(listOfEmployees, null));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/search")
+                .param("lastName", "ya")
+                .param("match", "PREFIX"));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.content[0].lastName", CoreMatchers.is("yakut")))
+                .andExpect(jsonPath("$.nextCursor", CoreMatchers.nullValue()));
+    }
+
+    //test for fuzzy search Rest Api
+    @Test
+    @DisplayName("Test for fuzzy search employees Rest Api")
+    public void givenQuery_whenFuzzySearchEmployees_thenReturnRankedIds() throws Exception {
+        //given --precondition operation
+        given(employeeService.fuzzySearchEmployees("bilall", 20)).willReturn(List.of(3L, 1L));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/fuzzy")
+                .param("q", "bilall"));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$[0]", CoreMatchers.is(3)));
+    }
+
+    //test for streaming export Rest Api, one json document per line
+    @Test
+    @DisplayName("Test for export employees as ndjson Rest Api")
+    public void givenEmployees_whenExportEmployeesNdjson_thenStreamOneEmployeePerLine() throws Exception {
+        //given --precondition operation
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().id(1L).firstName("bilal").lastName("yakut").email("bilal@mail.com").build());
+        listOfEmployees.add(Employee.builder().id(2L).firstName("jenny").lastName("jenny").email("jenn@mail.com").build());
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            listOfEmployees.forEach(consumer);
+            return null;
+        }).given(employeeService).exportEmployees(any());
+
+        //when --action that we are going test
+        MvcResult result = mockMvc.perform(get("/api/employee/export")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then verify the output
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], Employee.class).getEmail())
+                .isEqualTo("jenn@mail.com");
+    }
+
+    //test for streaming export Rest Api as a single json array
+    @Test
+    @DisplayName("Test for export employees as json array Rest Api")
+    public void givenEmployees_whenExportEmployeesJson_thenStreamJsonArray() throws Exception {
+        //given --precondition operation
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(Employee.builder().id(1L).firstName("bilal").lastName("yakut").email("bilal@mail.com").build());
+            return null;
+        }).given(employeeService).exportEmployees(any());
+
+        //when --action that we are going test
+        MvcResult result = mockMvc.perform(get("/api/employee/export")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$[0].email", CoreMatchers.is("bilal@mail.com")));
+    }
+
+    //test for bulk create employee Rest Api
+    @Test
+    @DisplayName("Test for bulk create employee Rest Api")
+    public void givenEmployeeList_whenCreateEmployees_thenReturnPerItemResults() throws Exception {
+        //given --precondition operation
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().firstName("bilal").lastName("yakut").email("bilal@mail.com").build());
+        listOfEmployees.add(Employee.builder().firstName("jenny").lastName("jenny").email("bilal@mail.com").build());
+        given(employeeService.saveEmployees(anyList())).willReturn(new BulkCreateResult(1, 1, List.of(
+                BulkItemResult.created(0, 1L),
+                BulkItemResult.failed(1, "Duplicate email in request :bilal@mail.com"))));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employee/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(listOfEmployees)));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.created", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.failed", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.results[0].status", CoreMatchers.is("CREATED")))
+                .andExpect(jsonPath("$.results[1].status", CoreMatchers.is("FAILED")));
+    }
+
+    //test for bulk update and delete employee Rest Api
+    @Test
+    @DisplayName("Test for bulk update and delete employees by filter Rest Api")
+    public void givenFilter_whenBulkUpdateAndDelete_thenReturnAffectedCounts() throws Exception {
+        //given --precondition operation
+        given(employeeService.updateEmployees(argThat(filter -> "mail.com".equals(filter.getEmailDomain())), eq("billy"), isNull()))
+                .willReturn(new BulkChangeResult(1200, 3));
+        given(employeeService.deleteEmployees(argThat(filter -> List.of(1L, 2L).equals(filter.getIds()))))
+                .willReturn(new BulkChangeResult(1, 1));
+
+        //when --action that we are going test
+        ResultActions update = mockMvc.perform(post("/api/employee/_bulk_update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkUpdateRequest(new EmployeeFilter(null, "mail.com"), "billy", null))));
+        ResultActions delete = mockMvc.perform(post("/api/employee/_bulk_delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EmployeeFilter(List.of(1L, 2L), null))));
+
+        //then verify the output
+        update.andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", CoreMatchers.is(1200)))
+                .andExpect(jsonPath("$.chunks", CoreMatchers.is(3)));
+        delete.andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", CoreMatchers.is(1)));
+    }
+
+    //Test for update Employee Rest Api with an unknown id
+    @Test
+    public void givenUnknownEmployeeId_whenUpdateEmployee_thenReturn404() throws Exception {
+        //given --precondition operation
+        Employee updatedEmployee = Employee.builder()
+                .firstName("billy").lastName("billy").email("billy@mail.com").build();
+        given(employeeService.updateEmployee(any(Employee.class)))
+                .willThrow(new ResourceNotFoundException("Employee not found with id :1"));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(put("/api/employee/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        //then verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    //Test for partial update Employee Rest Api
+    @Test
+    public void givenPartialEmployee_whenPatchEmployee_thenReturn204() throws Exception {
+        //given --precondition operation
+        long employeeId = 1L;
+        willDoNothing().given(employeeService).patchEmployee(eq(employeeId), any(Employee.class));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(patch("/api/employee/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"billy\"}"));
+
+        //then verify the output
+        response.andExpect(status().isNoContent())
+                .andDo(print());
+    }
+
+    //test for delete employee Rest Api with an unknown id
+    @Test
+    public void givenUnknownEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception {
+        //given --precondition operation
+        long employeeId = 1L;
+        willThrow(new ResourceNotFoundException("Employee not found with id :1"))
+                .given(employeeService).deleteEmployee(employeeId);
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(delete("/api/employee/{id}", employeeId));
+
+        //then verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    //test for get Employee ById Rest Api with etag
+    @Test
+    public void givenVersionedEmployee_whenGetEmployeeById_thenReturnETag() throws Exception {
+        //given --precondition operation
+        Employee employee = Employee.builder().id(1L).firstName("bilal").lastName("yakut").email("bilal@mail.com").version(3L).build();
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/{id}", 1L));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version", CoreMatchers.is(3)));
+    }
+
+    //test for conditional get answered from the version only
+    @Test
+    public void givenMatchingETag_whenGetEmployeeById_thenReturn304WithoutLoading() throws Exception {
+        //given --precondition operation
+        given(employeeService.getEmployeeVersion(1L)).willReturn(Optional.of(3L));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        //then verify the output
+        response.andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        verify(employeeService, never()).getEmployeeById(1L);
+    }
+
+    //test for get Employee ById Rest Api served from the json cache
+    @Test
+    @DisplayName("GetEmployeeById answers json clients from the cached off-heap bytes")
+    public void givenCachedJson_whenGetEmployeeById_thenReturnCachedBytesWithoutLoading() throws Exception {
+        //given --precondition operation
+        Employee employee = Employee.builder().id(1L).firstName("bilal").lastName("yakut").email("bilal@mail.com").version(3L).build();
+        EmployeeJson json = new EmployeeJsonCache(EmployeeJsonCache.caffeine(1 << 20, Duration.ofMinutes(10)), objectMapper, false, true)
+                .put(employee, null);
+        given(employeeJsonCache.isEnabled()).willReturn(true);
+        given(employeeJsonCache.get(1L)).willReturn(json);
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/{id}", 1L).accept(MediaType.APPLICATION_JSON));
+        ResultActions revalidation = mockMvc.perform(get("/api/employee/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, json.size()))
+                .andExpect(jsonPath("$.firstName", CoreMatchers.is("bilal")))
+                .andExpect(jsonPath("$.version", CoreMatchers.is(3)));
+        revalidation.andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        verify(employeeService, never()).getEmployeeById(1L);
+        verify(employeeService, never()).getEmployeeVersion(1L);
+    }
+
+    //test for get Employee ById Rest Api filling the json cache
+    @Test
+    @DisplayName("GetEmployeeById caches the json on a miss and skips the cache for binary clients")
+    public void givenJsonCacheMiss_whenGetEmployeeById_thenCacheJson() throws Exception {
+        //given --precondition operation
+        Employee employee = Employee.builder().id(1L).firstName("bilal").lastName("yakut").email("bilal@mail.com").version(3L).build();
+        EmployeeJsonCache serializer = new EmployeeJsonCache(EmployeeJsonCache.caffeine(1 << 20, Duration.ofMinutes(10)), objectMapper, false, false);
+        given(employeeJsonCache.isEnabled()).willReturn(true);
+        given(employeeJsonCache.put(any(Employee.class), any())).willAnswer(invocation -> serializer.put(invocation.getArgument(0), null));
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/{id}", 1L));
+        ResultActions protobuf = mockMvc.perform(get("/api/employee/{id}", 1L)
+                .accept(EmployeeProtobufHttpMessageConverter.PROTOBUF));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.email", CoreMatchers.is("bilal@mail.com")));
+        protobuf.andExpect(status().isOk())
+                .andExpect(content().contentType(EmployeeProtobufHttpMessageConverter.PROTOBUF));
+        verify(employeeJsonCache).lease(1L);
+        verify(employeeJsonCache).put(eq(employee), any());
+        verify(employeeJsonCache).get(1L);
+    }
+
+    //test for conditional update Rest Api
+    @Test
+    public void givenIfMatch_whenUpdateEmployee_thenReturnNewETag() throws Exception {
+        //given --precondition operation
+        Employee updatedEmployee = Employee.builder()
+                .firstName("billy").lastName("billy").email("billy@mail.com").build();
+        given(employeeService.updateEmployee(any(Employee.class), eq(3L))).willAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            employee.setVersion(4L);
+            return employee;
+        });
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(put("/api/employee/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    //test for conditional update Rest Api with a malformed If-Match
+    @Test
+    public void givenMalformedIfMatch_whenPatchEmployee_thenReturn412() throws Exception {
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(patch("/api/employee/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lastName\":\"billy\"}"));
+
+        //then verify the output
+        response.andExpect(status().isPreconditionFailed());
+    }
+}
@@ -0,0 +1,71 @@
+package net.tigrisTesting.controller;
+
+import net.tigrisTesting.cache.EmployeeJsonCache;
+import net.tigrisTesting.config.ExportConfig;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// a one second default async timeout stands in for the container's 30s one, mockmvc only waits for
+// an async result as long as the request's timeout allows
+@WebMvcTest(value = EmployeeController.class, properties = {
+        "spring.mvc.async.request-timeout=1s",
+        "employee.export.timeout=1m"})
+@Import(ExportConfig.class)
+class EmployeeExportTimeoutTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @MockBean
+    private EmployeeJsonCache employeeJsonCache;
+
+    @Test
+    @DisplayName("an export running longer than the default async timeout is streamed to the end")
+    public void givenSlowExport_whenExport_thenEveryRowDelivered() throws Exception {
+        //given --precondition operation
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            for (long id = 1; id <= 3; id++) {
+                Thread.sleep(1000);
+                consumer.accept(Employee.builder().id(id).firstName("bilal").lastName("yakut").email(id + "@mail.com").build());
+            }
+            return null;
+        }).given(employeeService).exportEmployees(any());
+
+        //when --action that we are going test
+        MvcResult result = mockMvc.perform(get("/api/employee/export")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then verify the output
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(60_000L);
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.split("\n")).hasSize(3);
+        assertThat(body).contains("\"email\":\"3@mail.com\"");
+    }
+}
@@ -0,0 +1,78 @@
+package net.tigrisTesting.controller;
+
+import net.tigrisTesting.dto.EmployeeImportError;
+import net.tigrisTesting.dto.EmployeeImportProgress;
+import net.tigrisTesting.exception.ConflictException;
+import net.tigrisTesting.model.EmployeeImportStatus;
+import net.tigrisTesting.service.EmployeeImportService;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeImportController.class)
+class EmployeeImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeImportService employeeImportService;
+
+    //test for starting an import Rest Api
+    @Test
+    @DisplayName("Test for start csv import Rest Api")
+    public void givenImportFile_whenStartImport_thenReturn202WithProgressLocation() throws Exception {
+        //given --precondition operation
+        given(employeeImportService.startImport("employees.csv")).willReturn(new EmployeeImportProgress("employees.csv",
+                EmployeeImportStatus.RUNNING, 1000, 0, 1, 0, 0, null, List.of()));
+        given(employeeImportService.startImport("running.csv")).willThrow(new ConflictException("Import already running :running.csv"));
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employee/_import").param("file", "employees.csv"));
+        ResultActions running = mockMvc.perform(post("/api/employee/_import").param("file", "running.csv"));
+
+        //then verify the output
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/employee/_import/employees.csv"))
+                .andExpect(jsonPath("$.status", CoreMatchers.is("RUNNING")));
+        running.andExpect(status().isConflict());
+    }
+
+    //test for import progress Rest Api
+    @Test
+    @DisplayName("Test for csv import progress Rest Api")
+    public void givenJobId_whenGetProgress_thenReturnCountsAndLineErrors() throws Exception {
+        //given --precondition operation
+        given(employeeImportService.getProgress("employees.csv")).willReturn(Optional.of(new EmployeeImportProgress("employees.csv",
+                EmployeeImportStatus.COMPLETED, 1000, 1000, 21, 18, 2, null,
+                List.of(new EmployeeImportError(7, "Invalid email :bilal")))));
+        given(employeeImportService.getProgress("unknown.csv")).willReturn(Optional.empty());
+
+        //when --action that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employee/_import/{jobId}", "employees.csv"));
+        ResultActions unknown = mockMvc.perform(get("/api/employee/_import/{jobId}", "unknown.csv"));
+
+        //then verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", CoreMatchers.is(18)))
+                .andExpect(jsonPath("$.failed", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.errors[0].line", CoreMatchers.is(7)))
+                .andExpect(jsonPath("$.errors[0].error", CoreMatchers.is("Invalid email :bilal")));
+        unknown.andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,107 @@
+package net.tigrisTesting.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptivePoolSizerTest {
+
+    private final AdaptivePoolSizer sizer = new AdaptivePoolSizer(null, null, 10, 20, 2,
+            Duration.ofMillis(5), Duration.ofMillis(50));
+
+    private static AdaptivePoolSizer.PoolSample sample(double waitMillis, double holdMillis, double busy, int pending) {
+        return new AdaptivePoolSizer.PoolSample(waitMillis, holdMillis, busy, pending);
+    }
+
+    @Test
+    @DisplayName("waiting callers with fast connections grow the pool by one step")
+    public void givenWaitAboveTarget_whenHoldFast_thenGrow() {
+        //when --action that we are going test
+        int next = sizer.nextSize(10, sample(20, 3, 10, 4));
+
+        //then verify the output
+        assertThat(next).isEqualTo(12);
+        assertThat(sizer.nextSize(20, sample(20, 3, 20, 4))).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("waiting callers with slow connections keep the size, the database is saturated")
+    public void givenWaitAboveTarget_whenHoldSlow_thenKeep() {
+        //when --action that we are going test
+        int next = sizer.nextSize(14, sample(20, 120, 14, 9));
+
+        //then verify the output
+        assertThat(next).isEqualTo(14);
+    }
+
+    @Test
+    @DisplayName("an idle pool shrinks by one step down to the minimum")
+    public void givenNoWaitAndLowUsage_whenNextSize_thenShrink() {
+        //when --action that we are going test
+        int next = sizer.nextSize(16, sample(0, 2, 3, 0));
+
+        //then verify the output
+        assertThat(next).isEqualTo(14);
+        assertThat(sizer.nextSize(10, sample(0, 0, 0, 0))).isEqualTo(10);
+        // half or more of the pool in use keeps the size
+        assertThat(sizer.nextSize(16, sample(1, 2, 8, 0))).isEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("a size outside the bounds is moved into them first")
+    public void givenSizeOutOfBounds_whenNextSize_thenClamped() {
+        //then verify the output
+        assertThat(sizer.nextSize(4, sample(50, 1, 4, 10))).isEqualTo(10);
+        assertThat(sizer.nextSize(30, sample(0, 0, 0, 0))).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("invalid bounds are rejected")
+    public void givenInvalidBounds_whenCreate_thenThrows() {
+        //then verify the output
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePoolSizer(null, null, 10, 5, 1,
+                Duration.ofMillis(5), Duration.ofMillis(50)));
+    }
+
+    @Test
+    @DisplayName("adjust reads the hikari timers and resizes the live pool")
+    public void givenHikariTimers_whenAdjust_thenPoolResized() throws Exception {
+        //given --precondition operation
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl("jdbc:h2:mem:pool-sizer");
+            dataSource.setPoolName("sizer-test");
+            dataSource.setMaximumPoolSize(10);
+            dataSource.setMinimumIdle(10);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            try (Connection connection = dataSource.getConnection()) {
+                connection.isValid(1);
+            }
+            // the minimum is the start size and the target wait far above a local connect, so the first
+            // sample (pool startup) can neither shrink nor grow the pool
+            AdaptivePoolSizer poolSizer = new AdaptivePoolSizer(dataSource, meterRegistry, 10, 20, 2,
+                    Duration.ofSeconds(1), Duration.ofSeconds(1));
+            assertThat(poolSizer.adjust()).isEqualTo(10);
+            for (int i = 0; i < 10; i++) {
+                meterRegistry.timer("hikaricp.connections.acquire", "pool", "sizer-test").record(Duration.ofSeconds(2));
+            }
+
+            //when --action that we are going test
+            int grown = poolSizer.adjust();
+            int shrunk = poolSizer.adjust();
+
+            //then verify the output
+            assertThat(grown).isEqualTo(12);
+            assertThat(shrunk).isEqualTo(10);
+            assertThat(dataSource.getMaximumPoolSize()).isEqualTo(10);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package net.tigrisTesting.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.tigrisTesting.model.Employee;
 import net.tigrisTesting.repository.EmployeeRepository;
+import net.tigrisTesting.support.SqlStatementCounter;
 import static org.hamcrest.CoreMatchers.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -22,6 +24,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @SpringBootTest(webEnvironment=SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+@Import(SqlStatementCounter.class)
 public class EmployeeControllerITest {
 
     @Autowired
@@ -46,7 +49,7 @@ public class EmployeeControllerITest {
                 .email("bilal@mail.com")
                 .build();
         //when --action that we are going test
-
+        SqlStatementCounter.reset();
         ResultActions response = mockMvc.perform(post("/api/employee/")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(employee)));
@@ -58,6 +61,9 @@ public class EmployeeControllerITest {
                 .andExpect(jsonPath("$.firstName", is(employee.getFirstName())))
                 .andExpect(jsonPath("$.lastName", is(employee.getLastName())))
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
+        // the email lookup only runs when the filter may have seen the address
+        SqlStatementCounter.assertInserts(1);
+        SqlStatementCounter.assertTotalAtMost(2);
 
     }
 
@@ -85,6 +91,7 @@ public class EmployeeControllerITest {
 
         Employee employee = Employee.builder().firstName("bilal").lastName("yakut").email("bilal@mail.com").build();
         employeeRepository.save(employee);
+        SqlStatementCounter.reset();
 
         //when --action that we are going test
         ResultActions response = mockMvc.perform(get("/api/employee/{id}", employee.getId()));
@@ -96,6 +103,8 @@ public class EmployeeControllerITest {
                 .andExpect(jsonPath("$.firstName", is(employee.getFirstName())))
                 .andExpect(jsonPath("$.lastName", is(employee.getLastName())))
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
+        // none when the second level cache already holds the row
+        SqlStatementCounter.assertTotalAtMost(1);
 
     }
 
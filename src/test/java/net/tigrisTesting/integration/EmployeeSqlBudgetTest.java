@@ -0,0 +1,247 @@
+package net.tigrisTesting.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import net.tigrisTesting.config.CacheConfig;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeRepository;
+import net.tigrisTesting.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static net.tigrisTesting.support.SqlStatementCounter.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// round trips per request on the full stack (caches, email filter, search index) against an
+// embedded database. a budget that breaks means a request started doing more sql than it used to
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Import(SqlStatementCounter.class)
+class EmployeeSqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Employee savedEmployee;
+
+    @BeforeEach
+    void setup(){
+        employeeRepository.deleteAllInBatch();
+        savedEmployee = employeeRepository.save(employee("bilal", "yakut"));
+        // start every request cold: no service cache entry and no second level cache entry
+        cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE).clear();
+        entityManagerFactory.getCache().evictAll();
+        reset();
+    }
+
+    // emails the filter has never seen, so no duplicate lookup is needed
+    private static Employee employee(String firstName, String lastName) {
+        return Employee.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(UUID.randomUUID() + "@mail.com")
+                .build();
+    }
+
+    @Test
+    @DisplayName("get by id costs one select, a repeated get none")
+    public void givenEmployeeId_whenGetEmployeeById_thenOneSelect() throws Exception {
+        //when --action that we are going test
+        mockMvc.perform(get("/api/employee/{id}", savedEmployee.getId())).andExpect(status().isOk());
+
+        //then verify the output
+        assertSelects(1);
+        assertTotal(1);
+        reset();
+        mockMvc.perform(get("/api/employee/{id}", savedEmployee.getId())).andExpect(status().isOk());
+        assertTotal(0);
+    }
+
+    @Test
+    @DisplayName("revalidation with a current ETag costs one version select")
+    public void givenCurrentETag_whenGetEmployeeById_thenOneSelect() throws Exception {
+        //when --action that we are going test
+        mockMvc.perform(get("/api/employee/{id}", savedEmployee.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + savedEmployee.getVersion() + "\""))
+                .andExpect(status().isNotModified());
+
+        //then verify the output
+        assertTotal(1);
+    }
+
+    @Test
+    @DisplayName("create with a new email costs one insert and no duplicate lookup")
+    public void givenNewEmail_whenCreateEmployee_thenOneInsert() throws Exception {
+        //when --action that we are going test
+        mockMvc.perform(post("/api/employee/")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee("jenny", "jenny"))))
+                .andExpect(status().isCreated());
+
+        //then verify the output
+        assertInserts(1);
+        assertTotal(1);
+    }
+
+    @Test
+    @DisplayName("bulk create of 1000 stays within 20 statements")
+    public void givenThousandEmployees_whenBulkCreate_thenWithinBudget() throws Exception {
+        //given --precondition operation
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            employees.add(employee("first" + i, "last" + i));
+        }
+
+        //when --action that we are going test
+        mockMvc.perform(post("/api/employee/_bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employees)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1000));
+
+        //then verify the output
+        assertInserts(2);
+        assertTotalAtMost(20);
+    }
+
+    @Test
+    @DisplayName("a keyset page costs one select and no count query")
+    public void givenEmployees_whenGetEmployeePage_thenOneSelect() throws Exception {
+        //given --precondition operation
+        employeeRepository.saveAll(List.of(employee("jenny", "jenny"), employee("john", "doe")));
+        reset();
+
+        //when --action that we are going test
+        mockMvc.perform(get("/api/employee/").param("limit", "2")).andExpect(status().isOk());
+
+        //then verify the output
+        assertSelects(1);
+        assertTotal(1);
+    }
+
+    @Test
+    @DisplayName("a name search costs at most the id query and one primary key load")
+    public void givenEmployees_whenSearchEmployees_thenAtMostTwoSelects() throws Exception {
+        //given --precondition operation
+        employeeRepository.saveAll(List.of(employee("jenny", "yakut"), employee("john", "yakut")));
+        reset();
+
+        //when --action that we are going test
+        mockMvc.perform(get("/api/employee/search").param("lastName", "yakut"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(3));
+
+        //then verify the output
+        assertTotalAtMost(2);
+    }
+
+    @Test
+    @DisplayName("fuzzy search is answered without sql")
+    public void givenIndexedEmployee_whenFuzzySearch_thenNoStatements() throws Exception {
+        //when --action that we are going test
+        mockMvc.perform(get("/api/employee/fuzzy").param("q", "bilall")).andExpect(status().isOk());
+
+        //then verify the output
+        assertTotal(0);
+    }
+
+    @Test
+    @DisplayName("update, patch and delete are one statement each")
+    public void givenEmployee_whenWrite_thenOneStatementEach() throws Exception {
+        //when --action that we are going test
+        mockMvc.perform(put("/api/employee/{id}", savedEmployee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee("billy", "ykt"))))
+                .andExpect(status().isOk());
+
+        //then verify the output
+        assertUpdates(1);
+        assertTotal(1);
+
+        reset();
+        mockMvc.perform(patch("/api/employee/{id}", savedEmployee.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + (savedEmployee.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\":\"yakut\"}"))
+                .andExpect(status().isNoContent());
+        assertUpdates(1);
+        assertTotal(1);
+
+        reset();
+        mockMvc.perform(delete("/api/employee/{id}", savedEmployee.getId())).andExpect(status().isOk());
+        assertDeletes(1);
+        assertTotal(1);
+    }
+
+    @Test
+    @DisplayName("bulk update and delete of 1200 cost one statement per chunk of 500 and evict the cached rows")
+    public void givenEmailDomain_whenBulkUpdateAndDelete_thenOneStatementPerChunk() throws Exception {
+        //given --precondition operation
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            employees.add(Employee.builder().firstName("first" + i).lastName("last" + i).email(i + "@acme.com").build());
+        }
+        mockMvc.perform(post("/api/employee/_bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employees)))
+                .andExpect(status().isOk());
+        long cachedId = employeeRepository.findByEmail("0@acme.com").getId();
+        mockMvc.perform(get("/api/employee/{id}", cachedId)).andExpect(jsonPath("$.lastName").value("last0"));
+        reset();
+
+        //when --action that we are going test
+        mockMvc.perform(post("/api/employee/_bulk_update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"emailDomain\":\"acme.com\"},\"lastName\":\"acme\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1200))
+                .andExpect(jsonPath("$.chunks").value(3));
+
+        //then verify the output
+        // three id chunks and the empty one that ends the scan
+        assertSelects(4);
+        assertUpdates(3);
+        assertTotal(7);
+        mockMvc.perform(get("/api/employee/{id}", cachedId))
+                .andExpect(jsonPath("$.lastName").value("acme"))
+                .andExpect(jsonPath("$.version").value(1));
+
+        List<Long> ids = employeeRepository.findAll().stream().map(Employee::getId).filter(id -> id != savedEmployee.getId()).toList();
+        reset();
+        mockMvc.perform(post("/api/employee/_bulk_delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", ids))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1200))
+                .andExpect(jsonPath("$.chunks").value(3));
+        assertDeletes(3);
+        assertTotal(3);
+        mockMvc.perform(get("/api/employee/{id}", cachedId)).andExpect(status().isNotFound());
+    }
+}
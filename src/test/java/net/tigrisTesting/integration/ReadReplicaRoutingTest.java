@@ -0,0 +1,219 @@
+package net.tigrisTesting.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import net.tigrisTesting.config.CacheConfig;
+import net.tigrisTesting.datasource.ReadYourWritesFilter;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// two in-memory databases stand in for primary and replica. nothing replicates between them, so
+// every response shows which one served it: rows written through the api only exist on the primary,
+// rows inserted with the replica's JdbcTemplate only on the replica
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "employee.datasource.replica.enabled=true",
+        "employee.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'",
+        "employee.datasource.replica.username=sa",
+        "employee.datasource.replica.password=",
+        "employee.datasource.replica.read-your-writes=1m"})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setup(){
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        primary.update("delete from employee");
+        replica.update("delete from employee");
+        cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE).clear();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private Cookie createEmployee(String email) throws Exception {
+        Employee employee = Employee.builder().firstName("bilal").lastName("yakut").email(email).build();
+        MvcResult result = mockMvc.perform(post("/api/employee/")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return result.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+    }
+
+    private long insertIntoReplica(String email) {
+        replica.update("insert into employee (first_name, last_name, email, version) values ('replica', 'only', ?, 0)", email);
+        return replica.queryForObject("select id from employee where email = ?", Long.class, email);
+    }
+
+    @Test
+    @DisplayName("writes go to the primary and hand out the read-your-writes cookie")
+    public void givenEmployee_whenCreate_thenWrittenToPrimaryOnly() throws Exception {
+        //when --action that we are going test
+        Cookie cookie = createEmployee("primary@mail.com");
+
+        //then verify the output
+        assertThat(primary.queryForObject("select count(*) from employee", Integer.class)).isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from employee", Integer.class)).isZero();
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isGreaterThan(System.currentTimeMillis());
+        assertThat(cookie.getMaxAge()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("list, page and name lookups of a client without a recent write are served by the replica")
+    public void givenNoCookie_whenRead_thenReplica() throws Exception {
+        //given --precondition operation
+        createEmployee("primary@mail.com");
+        insertIntoReplica("replica@mail.com");
+
+        //when --action that we are going test
+        //then verify the output
+        mockMvc.perform(get("/api/employee/"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].email").value("replica@mail.com"));
+        mockMvc.perform(get("/api/employee/").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].email").value("replica@mail.com"));
+        assertThat(employeeRepository.findByJPQL("replica", "only")).isNotNull();
+        assertThat(employeeRepository.findByNativeSql("bilal", "yakut")).isNull();
+    }
+
+    @Test
+    @DisplayName("a client inside its read-your-writes window reads from the primary")
+    public void givenWriteCookie_whenRead_thenPrimary() throws Exception {
+        //given --precondition operation
+        Cookie cookie = createEmployee("primary@mail.com");
+        insertIntoReplica("replica@mail.com");
+
+        //when --action that we are going test
+        //then verify the output
+        mockMvc.perform(get("/api/employee/").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].email").value("primary@mail.com"));
+    }
+
+    @Test
+    @DisplayName("an expired read-your-writes cookie no longer pins reads to the primary")
+    public void givenExpiredCookie_whenRead_thenReplica() throws Exception {
+        //given --precondition operation
+        createEmployee("primary@mail.com");
+        insertIntoReplica("replica@mail.com");
+        Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() - 1));
+
+        //when --action that we are going test
+        //then verify the output
+        mockMvc.perform(get("/api/employee/").cookie(expired))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("replica@mail.com"));
+    }
+
+    @Test
+    @DisplayName("get by id reads the primary, its result is cached")
+    public void givenReplicaOnlyEmployee_whenGetById_thenPrimary() throws Exception {
+        //given --precondition operation
+        Cookie cookie = createEmployee("primary@mail.com");
+        long replicaId = insertIntoReplica("replica@mail.com");
+
+        //when --action that we are going test
+        //then verify the output
+        mockMvc.perform(get("/api/employee/{id}", replicaId).cookie(cookie))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employee/{id}", replicaId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("a lagging replica cannot put the row from before a write into the caches")
+    public void givenStaleReplicaRow_whenReadWithoutCookie_thenCachesFilledFromPrimaryOnly() throws Exception {
+        //given --precondition operation
+        createEmployee("primary@mail.com");
+        long id = primary.queryForObject("select id from employee", Long.class);
+        // the replica has not seen the write yet and still has the old row
+        replica.update("insert into employee (id, first_name, last_name, email, version) values (?, 'old', 'row', 'old@mail.com', 0)", id);
+
+        //when --action that we are going test
+        mockMvc.perform(get("/api/employee/"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("old@mail.com"));
+        mockMvc.perform(get("/api/employee/").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("old@mail.com"));
+
+        //then verify the output
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, id)).isFalse();
+        mockMvc.perform(get("/api/employee/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("primary@mail.com"));
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE).get(id, Employee.class).getEmail())
+                .isEqualTo("primary@mail.com");
+    }
+
+    @Test
+    @DisplayName("the read-your-writes window carries over to the async endpoints' executor")
+    public void givenWriteCookie_whenAsyncRead_thenPrimary() throws Exception {
+        //given --precondition operation
+        Cookie cookie = createEmployee("primary@mail.com");
+        insertIntoReplica("replica@mail.com");
+
+        //when --action that we are going test
+        MvcResult pinned = mockMvc.perform(get("/api/async/employee/").cookie(cookie))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult unpinned = mockMvc.perform(get("/api/async/employee/"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then verify the output
+        mockMvc.perform(asyncDispatch(pinned))
+                .andExpect(jsonPath("$[0].email").value("primary@mail.com"));
+        mockMvc.perform(asyncDispatch(unpinned))
+                .andExpect(jsonPath("$[0].email").value("replica@mail.com"));
+    }
+}
@@ -0,0 +1,86 @@
+package net.tigrisTesting.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.util.ClassUtils;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// load suite, not part of the regular test run (IT suffix). start it explicitly:
+//   mvn test -Dtest=EmployeeLoadIT
+//   mvn test -Dtest=EmployeeLoadIT#configured -Dload.mix=get=80,update=20 -Dload.rate=500 -Dload.duration=30s
+// reports are written to target/load-reports (load.reports.dir), a summary and HdrHistogram
+// percentile distributions per scenario and request thread mode, ready to diff between builds.
+// both thread modes back to back, on a JDK 21 (virtual threads need the virtual-threads build):
+//   mvn test -Pvirtual-threads,load-thread-modes -Dload.rate=1000
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+class EmployeeLoadIT {
+
+    private static final String VIRTUAL_THREAD_CONFIG = "net.tigrisTesting.config.VirtualThreadConfig";
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${employee.threads.virtual:false}")
+    private boolean virtualThreads;
+
+    @Test
+    @DisplayName("read heavy mix at a fixed arrival rate")
+    public void readHeavy() throws Exception {
+        run("read-heavy", "get=70,list=10,create=10,update=8,delete=2");
+    }
+
+    @Test
+    @DisplayName("write heavy mix at a fixed arrival rate")
+    public void writeHeavy() throws Exception {
+        run("write-heavy", "create=40,update=40,delete=10,get=10");
+    }
+
+    @Test
+    @DisplayName("mix given on the command line")
+    @EnabledIfSystemProperty(named = "load.mix", matches = ".+")
+    public void configured() throws Exception {
+        run(System.getProperty("load.name", "configured"), System.getProperty("load.mix"));
+    }
+
+    private void run(String name, String mix) throws Exception {
+        //given --precondition operation
+        // without the virtual-threads build the flag only switches the platform executor off
+        assertThat(!virtualThreads || ClassUtils.isPresent(VIRTUAL_THREAD_CONFIG, null))
+                .as("employee.threads.virtual=true needs a build with -Pvirtual-threads").isTrue();
+        LoadScenario scenario = LoadScenario.builder()
+                .name(name + (virtualThreads ? "-virtual" : "-platform"))
+                .mix(LoadScenario.parseMix(mix))
+                .ratePerSecond(Double.parseDouble(System.getProperty("load.rate", "50")))
+                .warmup(DurationStyle.detectAndParse(System.getProperty("load.warmup", "2s")))
+                .duration(DurationStyle.detectAndParse(System.getProperty("load.duration", "10s")))
+                .seedEmployees(Integer.parseInt(System.getProperty("load.seed-employees", "1000")))
+                .seed(Long.parseLong(System.getProperty("load.seed", "42")))
+                .build();
+        LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port + "/api/employee/"), objectMapper);
+
+        //when --action that we are going test
+        LoadReport report = generator.run(scenario);
+        report.write(Path.of(System.getProperty("load.reports.dir", "target/load-reports")));
+
+        //then verify the output
+        assertThat(report.total().getTotalCount()).isPositive();
+        assertThat(report.serverErrors()).isZero();
+    }
+}
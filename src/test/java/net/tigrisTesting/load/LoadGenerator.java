@@ -0,0 +1,197 @@
+package net.tigrisTesting.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.tigrisTesting.model.Employee;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// drives /api/employee/ over real http at a fixed arrival rate. one thread only schedules: it waits
+// for the intended start of the next request and hands it to the async client, so slow responses
+// never delay later requests. the operation sequence depends on the scenario seed alone
+public class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SEED_BATCH = 500;
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final IdPool ids = new IdPool();
+    // unique emails across runs against the same database
+    private final AtomicLong emails = new AtomicLong(System.currentTimeMillis());
+
+    public LoadGenerator(URI baseUri, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public LoadReport run(LoadScenario scenario) throws Exception {
+        seed(scenario.getSeedEmployees());
+        Random random = new Random(scenario.getSeed());
+        phase(scenario, scenario.getWarmup(), random, null);
+        LoadReport report = new LoadReport(scenario);
+        phase(scenario, scenario.getDuration(), random, report);
+        return report;
+    }
+
+    private void seed(int count) throws Exception {
+        for (int from = 0; from < count; from += SEED_BATCH) {
+            List<Employee> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SEED_BATCH, count); i++) {
+                batch.add(employee());
+            }
+            HttpResponse<String> response = httpClient.send(json(HttpRequest.newBuilder(baseUri.resolve("_bulk")), "POST", batch),
+                    HttpResponse.BodyHandlers.ofString());
+            for (JsonNode result : objectMapper.readTree(response.body()).get("results")) {
+                if (result.hasNonNull("id")) {
+                    ids.add(result.get("id").asLong());
+                }
+            }
+        }
+    }
+
+    // a null report is the warmup: same traffic, nothing recorded
+    private void phase(LoadScenario scenario, Duration duration, Random random, LoadReport report) throws Exception {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.getRatePerSecond());
+        long requests = duration.toNanos() / intervalNanos;
+        List<CompletableFuture<?>> pending = new ArrayList<>((int) requests);
+
+        long start = System.nanoTime();
+        if (report != null) {
+            report.started(start);
+        }
+        for (long i = 0; i < requests; i++) {
+            long intended = start + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            pending.add(send(pick(scenario.getMix(), random), random, intended, report));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .get(REQUEST_TIMEOUT.toSeconds() * 2, TimeUnit.SECONDS);
+        if (report != null) {
+            report.finished(System.nanoTime());
+        }
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, Random random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int value = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix :" + mix);
+    }
+
+    private CompletableFuture<?> send(Operation operation, Random random, long intended, LoadReport report) {
+        Long id = switch (operation) {
+            case GET, UPDATE -> ids.random(random);
+            // taken out of the pool first so later requests never pick a deleted id
+            case DELETE -> ids.remove(random);
+            default -> null;
+        };
+        if (id == null && operation != Operation.CREATE && operation != Operation.LIST) {
+            operation = Operation.CREATE;
+        }
+        Operation sent = operation;
+        HttpRequest request = switch (operation) {
+            case CREATE -> json(HttpRequest.newBuilder(baseUri), "POST", employee());
+            case GET -> HttpRequest.newBuilder(baseUri.resolve(String.valueOf(id))).timeout(REQUEST_TIMEOUT).GET().build();
+            case LIST -> HttpRequest.newBuilder(baseUri.resolve("?limit=100")).timeout(REQUEST_TIMEOUT).GET().build();
+            case UPDATE -> json(HttpRequest.newBuilder(baseUri.resolve(String.valueOf(id))), "PUT", employee());
+            case DELETE -> HttpRequest.newBuilder(baseUri.resolve(String.valueOf(id))).timeout(REQUEST_TIMEOUT).DELETE().build();
+        };
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                    int status = error == null ? response.statusCode() : -1;
+                    if (sent == Operation.CREATE && status == 201) {
+                        ids.add(createdId(response.body()));
+                    }
+                    if (report != null) {
+                        report.record(sent, latencyMicros, status);
+                    }
+                    return null;
+                });
+    }
+
+    private long createdId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Employee employee() {
+        long number = emails.incrementAndGet();
+        return Employee.builder()
+                .firstName("load" + number)
+                .lastName("test" + number % 100)
+                .email("load" + number + "@load.test")
+                .build();
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, String method, Object body) {
+        try {
+            return builder.timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // live employee ids, random pick and removal in constant time
+    private static final class IdPool {
+
+        private long[] ids = new long[1024];
+        private int size;
+
+        synchronized void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized Long random(Random random) {
+            return size == 0 ? null : ids[random.nextInt(size)];
+        }
+
+        synchronized Long remove(Random random) {
+            if (size == 0) {
+                return null;
+            }
+            int index = random.nextInt(size);
+            long id = ids[index];
+            ids[index] = ids[--size];
+            return id;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package net.tigrisTesting.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// latencies of one measured phase in microseconds, counted from the intended start of each request
+// so a stalled server shows up as latency instead of as fewer requests (no coordinated omission)
+public class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadScenario scenario;
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final LongAdder serverErrors = new LongAdder();
+    private long startNanos;
+    private long endNanos;
+
+    public LoadReport(LoadScenario scenario) {
+        this.scenario = scenario;
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    // status -1 stands for a request that failed without a response
+    void record(Operation operation, long latencyMicros, int status) {
+        histograms.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+        if (status < 200 || status >= 300) {
+            errors.get(operation).increment();
+        }
+        if (status < 0 || status >= 500) {
+            serverErrors.increment();
+        }
+    }
+
+    void started(long nanos) {
+        startNanos = nanos;
+    }
+
+    void finished(long nanos) {
+        endNanos = nanos;
+    }
+
+    public Histogram histogram(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    public Histogram total() {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        histograms.values().forEach(total::add);
+        return total;
+    }
+
+    // 5xx answers and requests that got no answer at all
+    public long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    public double throughput(Histogram histogram) {
+        double seconds = (endNanos - startNanos) / 1e9;
+        return seconds <= 0 ? 0 : histogram.getTotalCount() / seconds;
+    }
+
+    // <scenario>-summary.txt with one line per operation, plus one .hgrm percentile distribution
+    // per operation and for all requests, values in milliseconds
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve(scenario.getName() + "-summary.txt")))) {
+            summary.printf(Locale.ROOT, "scenario      %s%n", scenario.getName());
+            summary.printf(Locale.ROOT, "target rate   %.1f/s%n", scenario.getRatePerSecond());
+            summary.printf(Locale.ROOT, "duration      %ds (warmup %ds)%n", scenario.getDuration().toSeconds(), scenario.getWarmup().toSeconds());
+            summary.printf(Locale.ROOT, "mix           %s%n", scenario.getMix());
+            summary.printf(Locale.ROOT, "seed          %d%n%n", scenario.getSeed());
+            summary.printf(Locale.ROOT, "%-10s %8s %8s %12s %10s %10s %10s %10s %10s%n",
+                    "operation", "count", "errors", "throughput/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = histograms.get(operation);
+                if (histogram.getTotalCount() > 0) {
+                    line(summary, operation.name().toLowerCase(Locale.ROOT), histogram, errors.get(operation).sum());
+                    distribution(directory.resolve(scenario.getName() + "-" + operation.name().toLowerCase(Locale.ROOT) + ".hgrm"), histogram);
+                }
+            }
+            long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+            Histogram total = total();
+            line(summary, "all", total, totalErrors);
+            distribution(directory.resolve(scenario.getName() + ".hgrm"), total);
+        }
+    }
+
+    private void line(PrintStream summary, String name, Histogram histogram, long errorCount) {
+        summary.printf(Locale.ROOT, "%-10s %8d %8d %12.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                name, histogram.getTotalCount(), errorCount, throughput(histogram),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static void distribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+}
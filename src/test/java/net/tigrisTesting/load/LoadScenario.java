@@ -0,0 +1,41 @@
+package net.tigrisTesting.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// one open model run: requests start at a fixed rate whatever the response times are, the
+// operation of every request is drawn from the weighted mix with a fixed seed
+@Getter
+@Builder
+public class LoadScenario {
+
+    private final String name;
+    private final double ratePerSecond;
+    @Builder.Default
+    private final Duration warmup = Duration.ofSeconds(2);
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(10);
+    // employees created before the run so reads and writes have ids to work on
+    @Builder.Default
+    private final int seedEmployees = 1000;
+    @Builder.Default
+    private final long seed = 42;
+    private final Map<Operation, Integer> mix;
+
+    // "create=20,get=50,list=10,update=15,delete=5", missing operations get weight 0
+    public static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry :" + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,6 @@
+package net.tigrisTesting.load;
+
+// the request kinds a load scenario mixes
+public enum Operation {
+    CREATE, GET, LIST, UPDATE, DELETE
+}
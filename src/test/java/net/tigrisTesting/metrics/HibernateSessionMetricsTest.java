@@ -0,0 +1,82 @@
+package net.tigrisTesting.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// every repository call runs in its own session here, each one records once when it closes
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HibernateSessionMetricsTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Closed sessions record their statements and flushes")
+    public void givenSavedEmployee_whenSessionEnds_thenStatementsAndFlushesRecorded() {
+        //given --precondition operation
+        Employee employee = Employee.builder()
+                .firstName("bilal")
+                .lastName("yakut")
+                .email("bilal@mail.com")
+                .build();
+
+        //when --action that we are going test
+        employeeRepository.save(employee);
+
+        //then verify the output
+        DistributionSummary statements = meterRegistry.get("hibernate.session.statements").summary();
+        DistributionSummary flushes = meterRegistry.get("hibernate.session.flushes").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(1);
+        assertThat(flushes.totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Session counters start from zero for every session")
+    public void givenFreshListener_whenEnd_thenZeroRecorded() {
+        //given --precondition operation
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HibernateSessionMetrics metrics = new HibernateSessionMetrics(registry);
+        metrics.jdbcExecuteStatementEnd();
+        metrics.flushEnd(3, 0);
+        metrics.cacheGetEnd(false);
+        metrics.cacheGetEnd(true);
+
+        //when --action that we are going test
+        metrics.end();
+        new HibernateSessionMetrics(registry).end();
+
+        //then verify the output
+        assertThat(registry.get("hibernate.session.statements").summary().count()).isEqualTo(2);
+        assertThat(registry.get("hibernate.session.statements").summary().max()).isEqualTo(1);
+        assertThat(registry.get("hibernate.session.entities.flushed").summary().totalAmount()).isEqualTo(3);
+        assertThat(registry.get("hibernate.session.cache.misses").summary().totalAmount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,68 @@
+package net.tigrisTesting.repository;
+
+import net.tigrisTesting.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// the embedded database executes a batch row by row like a driver without batch rewriting,
+// so a failing row in the middle shows whether the rows before it stay committed
+@SpringBootTest
+@AutoConfigureTestDatabase
+class EmployeeBatchRepositoryTest {
+
+    @Autowired
+    private EmployeeBatchRepository employeeBatchRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setup(){
+        employeeRepository.deleteAllInBatch();
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder().firstName("bilal").lastName("yakut").email(email).build();
+    }
+
+    @Test
+    @DisplayName("a batch with a duplicate email in the middle commits none of its rows")
+    public void givenDuplicateInBatch_whenInsertBatch_thenNothingCommitted() {
+        //given --precondition operation
+        employeeRepository.save(employee("taken@mail.com"));
+
+        //when --action that we are going test
+        assertThatThrownBy(() -> employeeBatchRepository.insertBatch(List.of(employee("first@mail.com"),
+                employee("taken@mail.com"), employee("last@mail.com"))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        //then verify the output
+        assertThat(employeeRepository.findAll()).extracting(Employee::getEmail).containsExactly("taken@mail.com");
+    }
+
+    @Test
+    @DisplayName("a batch writes the generated ids back to the employees")
+    public void givenEmployees_whenInsertBatch_thenIdsAssigned() {
+        //given --precondition operation
+        List<Employee> employees = List.of(employee("a@mail.com"), employee("b@mail.com"));
+
+        //when --action that we are going test
+        employeeBatchRepository.insertBatch(employees);
+
+        //then verify the output
+        assertThat(employees).allSatisfy(employee -> {
+            assertThat(employee.getId()).isPositive();
+            assertThat(employee.getVersion()).isZero();
+        });
+        assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+}
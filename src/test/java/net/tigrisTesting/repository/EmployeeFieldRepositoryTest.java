@@ -0,0 +1,87 @@
+package net.tigrisTesting.repository;
+
+import jakarta.persistence.EntityManager;
+import net.tigrisTesting.dto.EmployeeField;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.support.SqlStatementCounter;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({EmployeeFieldRepository.class, SqlStatementCounter.class})
+class EmployeeFieldRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeFieldRepository employeeFieldRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Employee first;
+    private Employee second;
+
+    @BeforeEach
+    public void setup() {
+        first = employeeRepository.save(Employee.builder().firstName("bilal").lastName("yakut").email("bilal@mail.com").build());
+        second = employeeRepository.save(Employee.builder().firstName("ali").lastName("yaman").email("ali@mail.com").build());
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Field selection reads only the requested columns and manages no entities")
+    public void givenFields_whenFindAll_thenOnlyThoseColumnsWithoutEntities() {
+        //when --action that we are going test
+        List<Map<String, Object>> rows = employeeFieldRepository.findAll(List.of(EmployeeField.EMAIL, EmployeeField.ID));
+
+        //then verify the output
+        assertThat(rows).containsExactly(
+                Map.of("email", "bilal@mail.com", "id", first.getId()),
+                Map.of("email", "ali@mail.com", "id", second.getId()));
+        assertThat(rows.get(0).keySet()).containsExactly("email", "id");
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        SqlStatementCounter.assertSelects(1);
+        SqlStatementCounter.assertColumnsNotRead("first_name", "last_name", "version");
+    }
+
+    @Test
+    @DisplayName("Field selection pages by id")
+    public void givenLimit_whenFindByIdGreaterThan_thenKeysetPage() {
+        //when --action that we are going test
+        Slice<Map<String, Object>> firstPage = employeeFieldRepository.findByIdGreaterThan(0, List.of(EmployeeField.ID), 1);
+        Slice<Map<String, Object>> lastPage = employeeFieldRepository.findByIdGreaterThan(first.getId(), List.of(EmployeeField.ID), 1);
+
+        //then verify the output
+        assertThat(firstPage.getContent()).containsExactly(Map.of("id", first.getId()));
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(lastPage.getContent()).containsExactly(Map.of("id", second.getId()));
+        assertThat(lastPage.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Field selection by id, empty for an unknown id")
+    public void givenId_whenFindById_thenSelectedFields() {
+        //when --action that we are going test
+        Optional<Map<String, Object>> found = employeeFieldRepository.findById(second.getId(), List.of(EmployeeField.FIRST_NAME));
+        Optional<Map<String, Object>> missing = employeeFieldRepository.findById(-1, List.of(EmployeeField.FIRST_NAME));
+
+        //then verify the output
+        assertThat(found).contains(Map.of("firstName", "ali"));
+        assertThat(missing).isEmpty();
+        SqlStatementCounter.assertColumnsNotRead("email", "last_name");
+    }
+}
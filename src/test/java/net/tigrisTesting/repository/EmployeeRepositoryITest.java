@@ -2,12 +2,14 @@ package net.tigrisTesting.repository;
 
 import net.tigrisTesting.integration.AbstractContainerBaseTest;
 import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.support.SqlStatementCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SqlStatementCounter.class)
 class EmployeeRepositoryITest extends AbstractContainerBaseTest {
 
     @Autowired
@@ -46,13 +49,16 @@ class EmployeeRepositoryITest extends AbstractContainerBaseTest {
                 .build();*/
 
         //when -action or the behavior that we are going test
-
+        SqlStatementCounter.reset();
         Employee savedEmployee = employeeRepository.save(employee);
 
         //then verify the output
 
         assertThat(savedEmployee).isNotNull();
         assertThat(savedEmployee.getId()).isGreaterThan(0);
+        // identity ids are read back from the insert itself
+        SqlStatementCounter.assertInserts(1);
+        SqlStatementCounter.assertTotal(1);
 
     }
 
@@ -1,6 +1,7 @@
 package net.tigrisTesting.repository;
 
 import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.support.SqlStatementCounter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -9,15 +10,29 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @DataJpaTest
+@Import(SqlStatementCounter.class)
 class EmployeeRepositoryTest {
 
     @Autowired
     private EmployeeRepository employeeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
     private Employee employee;
 
     @BeforeEach
@@ -227,4 +242,165 @@ class EmployeeRepositoryTest {
         assertThat(employeeDb).isNotNull();
 
     }
-}
\ No newline at end of file
+
+    //test for set based update by id
+    @Test
+    @DisplayName("update Employee by id without loading it")
+    public void givenEmployeeObject_whenUpdateById_thenRowUpdated() {
+        //given --precondition operation
+        employeeRepository.save(employee);
+
+        //when --action that we are going test
+        int updated = employeeRepository.updateById(employee.getId(), "billy", "yakut", "billy@mail.com", null);
+        int missing = employeeRepository.updateById(employee.getId() + 1, "billy", "yakut", "billy@mail.com", null);
+
+        //then verify the output
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isZero();
+        Employee employeeDb = employeeRepository.findById(employee.getId()).get();
+        assertThat(employeeDb.getFirstName()).isEqualTo("billy");
+        assertThat(employeeDb.getEmail()).isEqualTo("billy@mail.com");
+    }
+
+    //test for set based partial update by id
+    @Test
+    @DisplayName("patch Employee by id keeps fields that are not supplied")
+    public void givenEmployeeObject_whenPatchById_thenOnlySuppliedFieldsUpdated() {
+        //given --precondition operation
+        employeeRepository.save(employee);
+
+        //when --action that we are going test
+        int updated = employeeRepository.patchById(employee.getId(), null, "ykt", null, null);
+
+        //then verify the output
+        assertThat(updated).isEqualTo(1);
+        Employee employeeDb = employeeRepository.findById(employee.getId()).get();
+        assertThat(employeeDb.getFirstName()).isEqualTo("bilal");
+        assertThat(employeeDb.getLastName()).isEqualTo("ykt");
+        assertThat(employeeDb.getEmail()).isEqualTo("bilalykt@mail.com");
+    }
+
+    //test for set based delete by id
+    @Test
+    @DisplayName("delete Employee by id returns affected rows")
+    public void givenEmployeeObject_whenDeleteEmployeeById_thenRowRemoved() {
+        //given --precondition operation
+        employeeRepository.save(employee);
+
+        //when --action that we are going test
+        int deleted = employeeRepository.deleteEmployeeById(employee.getId());
+        int missing = employeeRepository.deleteEmployeeById(employee.getId());
+
+        //then verify the output
+        assertThat(deleted).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+    }
+
+    //test for conditional update by version
+    @Test
+    @DisplayName("update Employee by id and version bumps the version")
+    public void givenEmployeeVersion_whenUpdateByIdWithVersion_thenOnlyCurrentVersionUpdated() {
+        //given --precondition operation
+        employeeRepository.save(employee);
+        long version = employeeRepository.findVersionById(employee.getId()).get();
+
+        //when --action that we are going test
+        int updated = employeeRepository.updateById(employee.getId(), "billy", "yakut", "billy@mail.com", version);
+        int stale = employeeRepository.patchById(employee.getId(), "bil", null, null, version);
+
+        //then verify the output
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isZero();
+        assertThat(employeeRepository.findVersionById(employee.getId())).contains(version + 1);
+    }
+
+    //test for the sql cost of a keyset page
+    @Test
+    @DisplayName("keyset slice is one select without a count query")
+    public void givenEmployees_whenFindByIdGreaterThan_thenOneSelect() {
+        //given --precondition operation
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().firstName("jenny").lastName("jenny").email("jen@mail.com").build());
+        SqlStatementCounter.reset();
+
+        //when --action that we are going test
+        Slice<Employee> slice = employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1));
+
+        //then verify the output
+        assertThat(slice.getContent()).hasSize(1);
+        assertThat(slice.hasNext()).isTrue();
+        SqlStatementCounter.assertSelects(1);
+        SqlStatementCounter.assertTotal(1);
+    }
+
+    //test for the sql cost of a set based update
+    @Test
+    @DisplayName("update Employee by id is a single statement")
+    public void givenEmployeeObject_whenUpdateById_thenOneStatement() {
+        //given --precondition operation
+        employeeRepository.save(employee);
+        SqlStatementCounter.reset();
+
+        //when --action that we are going test
+        employeeRepository.updateById(employee.getId(), "billy", "yakut", "billy@mail.com", null);
+
+        //then verify the output
+        SqlStatementCounter.assertUpdates(1);
+        SqlStatementCounter.assertTotal(1);
+    }
+
+    //test for the search index warm-up projection
+    @Test
+    @DisplayName("search fields stream reads the indexed columns of every employee")
+    public void givenEmployees_whenStreamAllSearchFields_thenIndexedColumns() {
+        //given --precondition operation
+        employeeRepository.save(employee);
+
+        //when --action that we are going test
+        List<EmployeeRepository.SearchFields> fields;
+        try (Stream<EmployeeRepository.SearchFields> stream = employeeRepository.streamAllSearchFields()) {
+            fields = stream.toList();
+        }
+
+        //then verify the output
+        assertThat(fields).singleElement().satisfies(row -> {
+            assertThat(row.getId()).isEqualTo(employee.getId());
+            assertThat(row.getFirstName()).isEqualTo("bilal");
+            assertThat(row.getLastName()).isEqualTo("yakut");
+            assertThat(row.getEmail()).isEqualTo("bilalykt@mail.com");
+        });
+    }
+
+    //test for rows written before the version column existed
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("a null version reads as 0, is bumped to 1 and is backfilled")
+    public void givenNullVersion_whenConditionalWriteAndBackfill_thenVersionUsable() {
+        //given --precondition operation
+        // a table created before the version column was declared not null, h2 commits ddl right away
+        jdbcTemplate.execute("alter table employee alter column version set null");
+        try {
+            jdbcTemplate.update("insert into employee (email, first_name, last_name, version) values ('old@mail.com', 'old', 'row', null)");
+            jdbcTemplate.update("insert into employee (email, first_name, last_name, version) values ('older@mail.com', 'older', 'row', null)");
+            long oldId = jdbcTemplate.queryForObject("select id from employee where email = 'old@mail.com'", Long.class);
+
+            //when --action that we are going test
+            Optional<Long> version = employeeRepository.findVersionById(oldId);
+            // the service supplies the transaction of a set based write
+            int updated = new TransactionTemplate(transactionManager).execute(status ->
+                    employeeRepository.updateById(oldId, "new", "row", "old@mail.com", 0L));
+            int backfilled = employeeRepository.backfillVersions();
+
+            //then verify the output
+            assertThat(version).contains(0L);
+            assertThat(updated).isEqualTo(1);
+            assertThat(employeeRepository.findVersionById(oldId)).contains(1L);
+            assertThat(backfilled).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("select count(*) from employee where version is null", Long.class)).isZero();
+        } finally {
+            jdbcTemplate.update("delete from employee");
+            jdbcTemplate.execute("alter table employee alter column version set not null");
+        }
+    }
+}
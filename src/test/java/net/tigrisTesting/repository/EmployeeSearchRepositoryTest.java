@@ -0,0 +1,95 @@
+package net.tigrisTesting.repository;
+
+import net.tigrisTesting.dto.NameMatch;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeSearchRepository.NameKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(EmployeeSearchRepository.class)
+class EmployeeSearchRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeSearchRepository employeeSearchRepository;
+
+    private Employee first;
+    private Employee second;
+    private Employee third;
+
+    @BeforeEach
+    public void setup() {
+        first = employeeRepository.save(Employee.builder().firstName("bilal").lastName("yakut").email("bilal1@mail.com").build());
+        second = employeeRepository.save(Employee.builder().firstName("bilal").lastName("yakut").email("bilal2@mail.com").build());
+        third = employeeRepository.save(Employee.builder().firstName("ali").lastName("yaman").email("ali@mail.com").build());
+        employeeRepository.save(Employee.builder().firstName("jenny").lastName("smith").email("jenny@mail.com").build());
+    }
+
+    //test for exact search over duplicated names, paged by id
+    @Test
+    @DisplayName("Exact name search pages duplicated names by id")
+    public void givenDuplicatedNames_whenFindKeysByExactName_thenPagesInIdOrder() {
+        //when --action that we are going test
+        Slice<NameKey> firstPage = employeeSearchRepository.findKeysByName("bilal", "yakut", NameMatch.EXACT, List.of(), null, 1);
+        Slice<NameKey> lastPage = employeeSearchRepository.findKeysByName("bilal", "yakut", NameMatch.EXACT, List.of(),
+                firstPage.getContent().get(0).getId(), 1);
+
+        //then verify the output
+        assertThat(firstPage.getContent()).extracting(NameKey::getId).containsExactly(first.getId());
+        assertThat(firstPage.getContent().get(0).getKeys()).isEmpty();
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(lastPage.getContent()).extracting(NameKey::getId).containsExactly(second.getId());
+        assertThat(lastPage.hasNext()).isFalse();
+    }
+
+    //test for prefix search ordered by last name, then id
+    @Test
+    @DisplayName("Prefix name search pages by last name and id")
+    public void givenLastNamePrefix_whenFindKeysByName_thenPagesInKeyOrder() {
+        //when --action that we are going test
+        Slice<NameKey> firstPage = employeeSearchRepository.findKeysByName(null, "ya", NameMatch.PREFIX, List.of(), null, 2);
+        NameKey last = firstPage.getContent().get(1);
+        Slice<NameKey> lastPage = employeeSearchRepository.findKeysByName(null, "ya", NameMatch.PREFIX, last.getKeys(),
+                last.getId(), 2);
+
+        //then verify the output
+        assertThat(firstPage.getContent()).extracting(NameKey::getId).containsExactly(first.getId(), second.getId());
+        assertThat(last.getKeys()).containsExactly("yakut");
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(lastPage.getContent()).extracting(NameKey::getId).containsExactly(third.getId());
+        assertThat(lastPage.hasNext()).isFalse();
+    }
+
+    //test for like wildcards in the search value
+    @Test
+    @DisplayName("Prefix name search treats wildcards literally")
+    public void givenWildcardPrefix_whenFindKeysByName_thenNoMatch() {
+        //when --action that we are going test
+        Slice<NameKey> page = employeeSearchRepository.findKeysByName(null, "%", NameMatch.PREFIX, List.of(), null, 10);
+
+        //then verify the output
+        assertThat(page.getContent()).isEmpty();
+    }
+
+    //test for loading a page of ids in keyset order
+    @Test
+    @DisplayName("Loading ids keeps their order and skips missing ones")
+    public void givenIds_whenFindAllByIdInOrder_thenEmployeesInSameOrder() {
+        //when --action that we are going test
+        List<Employee> employees = employeeSearchRepository.findAllByIdInOrder(List.of(third.getId(), 999L, first.getId()));
+
+        //then verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(third.getId(), first.getId());
+    }
+}
@@ -0,0 +1,122 @@
+package net.tigrisTesting.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.tigrisTesting.model.Employee;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// every repository call runs in its own transaction and session, like separate requests
+@DataJpaTest
+@Import(EmployeeBatchRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSecondLevelCacheTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeBatchRepository employeeBatchRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+
+        employee = employeeRepository.save(Employee.builder()
+                .firstName("bilal")
+                .lastName("yakut")
+                .email("bilalykt@mail.com")
+                .build());
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("findById is answered from the entity region across sessions")
+    public void givenCachedEmployee_whenFindByIdRepeatedly_thenNoSql() {
+        //given --precondition operation
+        // identity inserts are not put in the cache, the first read loads the entity region
+        employeeRepository.findById(employee.getId());
+        assertThat(statistics.getSecondLevelCacheMissCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCachePutCount()).isEqualTo(1);
+        statistics.clear();
+
+        //when --action that we are going test
+        for (int i = 0; i < 10; i++) {
+            assertThat(employeeRepository.findById(employee.getId())).isPresent();
+        }
+
+        //then verify the output
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(10);
+        assertThat(statistics.getSecondLevelCacheMissCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findByEmail and findByJPQL run their sql once")
+    public void givenCachedQueries_whenRepeated_thenOneSelectEach() {
+        //when --action that we are going test
+        for (int i = 0; i < 10; i++) {
+            assertThat(employeeRepository.findByEmail(employee.getEmail())).isNotNull();
+            assertThat(employeeRepository.findByJPQL(employee.getFirstName(), employee.getLastName())).isNotNull();
+        }
+
+        //then verify the output
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(2);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(18);
+        double hitRatio = (double) statistics.getQueryCacheHitCount()
+                / (statistics.getQueryCacheHitCount() + statistics.getQueryCacheMissCount());
+        assertThat(hitRatio).isEqualTo(0.9);
+    }
+
+    @Test
+    @DisplayName("entity writes invalidate cached query results")
+    public void givenCachedQuery_whenEmployeeUpdated_thenQueryRunsAgain() {
+        //given --precondition operation
+        assertThat(employeeRepository.findByEmail("billy@mail.com")).isNull();
+
+        //when --action that we are going test
+        employee.setEmail("billy@mail.com");
+        employeeRepository.save(employee);
+
+        //then verify the output
+        assertThat(employeeRepository.findByEmail("billy@mail.com")).isNotNull();
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("jdbc batch inserts evict the query region")
+    public void givenCachedQuery_whenBatchInsert_thenQueryRunsAgain() {
+        //given --precondition operation
+        assertThat(employeeRepository.findByEmail("jen@mail.com")).isNull();
+
+        //when --action that we are going test
+        employeeBatchRepository.insertBatch(List.of(Employee.builder()
+                .firstName("jen")
+                .lastName("jen")
+                .email("jen@mail.com")
+                .build()));
+
+        //then verify the output
+        assertThat(employeeRepository.findByEmail("jen@mail.com")).isNotNull();
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+}
@@ -0,0 +1,111 @@
+package net.tigrisTesting.service;
+
+import net.tigrisTesting.exception.ResourceNotFoundException;
+import net.tigrisTesting.exception.ServiceUnavailableException;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.service.impl.EmployeeAsyncServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeAsyncServiceTest {
+
+    @Mock
+    private EmployeeService employeeService;
+    // tasks are run by the test, like a pool thread picking them up from the queue
+    private List<Runnable> queue;
+    private EmployeeAsyncService employeeAsyncService;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        queue = new ArrayList<>();
+        employeeAsyncService = new EmployeeAsyncServiceImpl(employeeService, queue::add);
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("bilal")
+                .lastName("yakut")
+                .email("bilal@mail.com")
+                .build();
+    }
+
+    //test for getEmployeeById running on the executor
+    @Test
+    @DisplayName("JUnit async getEmployeeById operation")
+    public void givenEmployeeId_whenGetEmployeeById_thenCompletesOnExecutor() throws Exception {
+        //given --precondition operation
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
+
+        //when --action that we are going test
+        CompletableFuture<Optional<Employee>> future = employeeAsyncService.getEmployeeById(1L);
+        assertThat(future).isNotDone();
+        queue.forEach(Runnable::run);
+
+        //then verify the output
+        assertThat(future.get()).contains(employee);
+    }
+
+    //test for service exceptions completing the future exceptionally
+    @Test
+    @DisplayName("JUnit async deleteEmployee operation with missing id")
+    public void givenMissingId_whenDeleteEmployee_thenFailsWithServiceException() {
+        //given --precondition operation
+        willThrow(new ResourceNotFoundException("Employee not found with id :1")).given(employeeService).deleteEmployee(1L);
+
+        //when --action that we are going test
+        CompletableFuture<Void> future = employeeAsyncService.deleteEmployee(1L);
+        queue.forEach(Runnable::run);
+
+        //then verify the output
+        assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    //test for a call cancelled while it is still queued
+    @Test
+    @DisplayName("JUnit async getAllEmployees operation cancelled before it runs")
+    public void givenCancelledFuture_whenTaskRuns_thenServiceIsNotCalled() {
+        //when --action that we are going test
+        CompletableFuture<List<Employee>> future = employeeAsyncService.getAllEmployees();
+        future.cancel(false);
+        queue.forEach(Runnable::run);
+
+        //then verify the output
+        verifyNoInteractions(employeeService);
+    }
+
+    //test for a saturated executor
+    @Test
+    @DisplayName("JUnit async saveEmployee operation on a full executor")
+    public void givenFullExecutor_whenSaveEmployee_thenFailsWithServiceUnavailable() {
+        //given --precondition operation
+        employeeAsyncService = new EmployeeAsyncServiceImpl(employeeService, task -> {
+            throw new RejectedExecutionException("queue full");
+        });
+
+        //when --action that we are going test
+        CompletableFuture<Employee> future = employeeAsyncService.saveEmployee(employee);
+
+        //then verify the output
+        assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ServiceUnavailableException.class);
+        verifyNoInteractions(employeeService);
+    }
+}
@@ -0,0 +1,272 @@
+package net.tigrisTesting.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.tigrisTesting.cache.EmailBloomFilter;
+import net.tigrisTesting.cache.EmployeeSearchIndex;
+import net.tigrisTesting.exception.DuplicateEmailException;
+import net.tigrisTesting.exception.ServiceUnavailableException;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeBatchRepository;
+import net.tigrisTesting.repository.EmployeeRepository;
+import net.tigrisTesting.service.impl.EmployeeCreateCoalescer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+
+// concurrent saveEmployee calls against an embedded database with coalescing switched on. the wait
+// is long enough for callers released together to land in the same batch
+@SpringBootTest(properties = {
+        "employee.create.coalescing.enabled=true",
+        "employee.create.coalescing.max-wait=200ms",
+        "employee.create.coalescing.max-batch=64"})
+@AutoConfigureTestDatabase
+class EmployeeCreateCoalescerTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EmployeeBatchRepository employeeBatchRepository;
+    @Autowired
+    private EmailBloomFilter emailBloomFilter;
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup(){
+        employeeRepository.deleteAllInBatch();
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder().firstName("bilal").lastName("yakut").email(email).build();
+    }
+
+    // every caller starts at the same moment, results in submission order
+    private List<Future<Employee>> createConcurrently(List<Employee> employees) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(employees.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Employee>> results = new ArrayList<>();
+            for (Employee employee : employees) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return employeeService.saveEmployee(employee);
+                }));
+            }
+            start.countDown();
+            for (Future<Employee> result : results) {
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException ignored) {
+                    // asserted by the caller
+                }
+            }
+            return results;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private DistributionSummary batches() {
+        return meterRegistry.get("employee.create.coalesced.batch").summary();
+    }
+
+    @Test
+    @DisplayName("concurrent creates share batches and every caller gets its own generated id")
+    public void givenConcurrentCreates_whenSaveEmployee_thenCoalescedWithOwnIds() throws Exception {
+        //given --precondition operation
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            employees.add(employee(UUID.randomUUID() + "@mail.com"));
+        }
+        long batchesBefore = batches().count();
+        double writesBefore = batches().totalAmount();
+
+        //when --action that we are going test
+        List<Future<Employee>> results = createConcurrently(employees);
+
+        //then verify the output
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < results.size(); i++) {
+            Employee saved = results.get(i).get();
+            assertThat(saved.getEmail()).isEqualTo(employees.get(i).getEmail());
+            assertThat(saved.getId()).isPositive();
+            assertThat(saved.getVersion()).isZero();
+            ids.add(saved.getId());
+        }
+        assertThat(ids).hasSize(20);
+        assertThat(employeeRepository.count()).isEqualTo(20);
+        assertThat(batches().totalAmount() - writesBefore).isEqualTo(20);
+        assertThat(batches().count() - batchesBefore).isLessThan(20);
+    }
+
+    @Test
+    @DisplayName("two callers with the same email in one window: one is created, the other gets a duplicate error")
+    public void givenSameEmailTwice_whenSaveEmployee_thenSecondCallerFails() throws Exception {
+        //given --precondition operation
+        String email = UUID.randomUUID() + "@mail.com";
+
+        //when --action that we are going test
+        List<Future<Employee>> results = createConcurrently(List.of(employee(email), employee(email),
+                employee(UUID.randomUUID() + "@mail.com")));
+
+        //then verify the output
+        int created = 0;
+        int duplicates = 0;
+        for (Future<Employee> result : results.subList(0, 2)) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(DuplicateEmailException.class);
+                duplicates++;
+            }
+        }
+        assertThat(created).isEqualTo(1);
+        assertThat(duplicates).isEqualTo(1);
+        assertThat(results.get(2).get().getId()).isPositive();
+        assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("an email that is already stored is rejected by the batch lookup")
+    public void givenStoredEmail_whenSaveEmployee_thenDuplicateEmailException() {
+        //given --precondition operation
+        Employee stored = employeeService.saveEmployee(employee(UUID.randomUUID() + "@mail.com"));
+
+        //when --action that we are going test
+        //then verify the output
+        assertThatThrownBy(() -> employeeService.saveEmployee(employee(stored.getEmail())))
+                .isInstanceOf(DuplicateEmailException.class);
+        assertThat(employeeRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a unique index violation only fails its own caller, the rest of the batch is retried")
+    public void givenEmailUnknownToFilter_whenSaveEmployee_thenOnlyThatCallerFails() throws Exception {
+        //given --precondition operation
+        // written behind the email filter's back, so only the unique index knows about it
+        String taken = UUID.randomUUID() + "@mail.com";
+        jdbcTemplate.update("insert into employee (email, first_name, last_name, version) values (?, 'x', 'y', 0)", taken);
+
+        //when --action that we are going test
+        List<Future<Employee>> results = createConcurrently(List.of(employee(taken), employee(UUID.randomUUID() + "@mail.com")));
+
+        //then verify the output
+        assertThatThrownBy(() -> results.get(0).get())
+                .hasCauseInstanceOf(DuplicateEmailException.class);
+        assertThat(results.get(1).get().getId()).isPositive();
+        assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("emails differing only in case count as the same email within one window")
+    public void givenSameEmailInOtherCase_whenSaveEmployee_thenSecondCallerFails() throws Exception {
+        //given --precondition operation
+        String email = UUID.randomUUID() + "@mail.com";
+
+        //when --action that we are going test
+        List<Future<Employee>> results = createConcurrently(List.of(employee(email), employee(email.toUpperCase())));
+
+        //then verify the output
+        int duplicates = 0;
+        for (Future<Employee> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(DuplicateEmailException.class);
+                duplicates++;
+            }
+        }
+        assertThat(duplicates).isEqualTo(1);
+        assertThat(employeeRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a worker killed by an error fails its waiting callers and refuses later creates")
+    public void givenWorkerError_whenCreate_thenCallerFailsInsteadOfHanging() throws Exception {
+        //given --precondition operation
+        EmployeeBatchRepository failingBatchRepository = mock(EmployeeBatchRepository.class);
+        willThrow(new StackOverflowError()).given(failingBatchRepository).insertBatch(anyList());
+        EmployeeCreateCoalescer coalescer = new EmployeeCreateCoalescer(employeeRepository, failingBatchRepository,
+                emailBloomFilter, employeeSearchIndex, transactionManager, meterRegistry,
+                64, Duration.ofMillis(50), 100, Duration.ofSeconds(10));
+        coalescer.start();
+
+        //when --action that we are going test
+        CompletableFuture<Employee> first = coalescer.submit(employee(UUID.randomUUID() + "@mail.com"));
+        CompletableFuture<Employee> second = coalescer.submit(employee(UUID.randomUUID() + "@mail.com"));
+
+        //then verify the output
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> coalescer.create(employee(UUID.randomUUID() + "@mail.com")))
+                .isInstanceOf(ServiceUnavailableException.class);
+        coalescer.close();
+    }
+
+    @Test
+    @DisplayName("creates racing close are either refused or completed, never left waiting")
+    public void givenCreatesDuringClose_whenClose_thenEveryAcceptedCreateCompletes() throws Exception {
+        //given --precondition operation
+        EmployeeCreateCoalescer coalescer = new EmployeeCreateCoalescer(employeeRepository, employeeBatchRepository,
+                emailBloomFilter, employeeSearchIndex, transactionManager, meterRegistry,
+                64, Duration.ofMillis(1), 10_000, Duration.ofSeconds(10));
+        coalescer.start();
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<Employee>> accepted = new CopyOnWriteArrayList<>();
+        CountDownLatch submitting = new CountDownLatch(4);
+
+        //when --action that we are going test
+        for (int i = 0; i < 4; i++) {
+            callers.submit(() -> {
+                submitting.countDown();
+                try {
+                    while (true) {
+                        accepted.add(coalescer.submit(employee(UUID.randomUUID() + "@mail.com")));
+                    }
+                } catch (ServiceUnavailableException refused) {
+                    // closed
+                }
+            });
+        }
+        submitting.await();
+        coalescer.close();
+        callers.shutdown();
+
+        //then verify the output
+        assertThat(callers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(accepted).isNotEmpty();
+        for (CompletableFuture<Employee> result : accepted) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getId()).isPositive();
+        }
+        assertThat(employeeRepository.count()).isEqualTo(accepted.size());
+    }
+}
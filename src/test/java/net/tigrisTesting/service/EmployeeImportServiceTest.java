@@ -0,0 +1,216 @@
+package net.tigrisTesting.service;
+
+import net.tigrisTesting.dto.EmployeeImportError;
+import net.tigrisTesting.dto.EmployeeImportProgress;
+import net.tigrisTesting.exception.BadRequestException;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.model.EmployeeImportJob;
+import net.tigrisTesting.model.EmployeeImportStatus;
+import net.tigrisTesting.repository.EmployeeImportJobRepository;
+import net.tigrisTesting.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// imports csv files from a temporary directory into an embedded database, three lines per chunk
+// so every file spans several chunks and checkpoints
+@SpringBootTest(properties = {
+        "employee.import.chunk-size=3",
+        "employee.import.parse-threads=2"})
+@AutoConfigureTestDatabase
+class EmployeeImportServiceTest {
+
+    @TempDir
+    static Path importDirectory;
+
+    @DynamicPropertySource
+    static void importProperties(DynamicPropertyRegistry registry) {
+        registry.add("employee.import.directory", () -> importDirectory.toString());
+    }
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeImportJobRepository employeeImportJobRepository;
+
+    @BeforeEach
+    void setup(){
+        employeeRepository.deleteAllInBatch();
+        employeeImportJobRepository.deleteAllInBatch();
+    }
+
+    private static void write(String fileName, String... lines) throws Exception {
+        Files.writeString(importDirectory.resolve(fileName), String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+    }
+
+    private EmployeeImportProgress await(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        EmployeeImportProgress progress = employeeImportService.getProgress(jobId).orElseThrow();
+        while (progress.getStatus() == EmployeeImportStatus.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            progress = employeeImportService.getProgress(jobId).orElseThrow();
+        }
+        return progress;
+    }
+
+    @Test
+    @DisplayName("import creates the valid lines and reports invalid and duplicate lines by line number")
+    public void givenCsvWithBadLines_whenImport_thenValidLinesCreatedAndErrorsReported() throws Exception {
+        //given --precondition operation
+        employeeRepository.save(Employee.builder().firstName("x").lastName("y").email("taken@mail.com").build());
+        write("employees.csv",
+                "email,first_name,last_name",
+                "a@mail.com,bilal,yakut",
+                "\"b@mail.com\",\"yakut, bilal\",\"say \"\"hi\"\"\"",
+                "a@mail.com,same,chunk",
+                "not-an-email,bad,email",
+                "",
+                "taken@mail.com,already,stored",
+                "b@mail.com,earlier,chunk",
+                "c@mail.com,too,many,columns",
+                "d@mail.com,,");
+
+        //when --action that we are going test
+        employeeImportService.startImport("employees.csv");
+        EmployeeImportProgress progress = await("employees.csv");
+
+        //then verify the output
+        assertThat(progress.getStatus()).isEqualTo(EmployeeImportStatus.COMPLETED);
+        assertThat(progress.getCreated()).isEqualTo(3);
+        assertThat(progress.getFailed()).isEqualTo(5);
+        assertThat(progress.getCommittedLines()).isEqualTo(10);
+        assertThat(progress.getCommittedBytes()).isEqualTo(progress.getFileSize());
+        assertThat(progress.getErrors()).extracting(EmployeeImportError::getLine).containsExactly(4L, 5L, 7L, 8L, 9L);
+        assertThat(progress.getErrors().get(0).getError()).isEqualTo("Duplicate email in file :a@mail.com");
+        assertThat(progress.getErrors().get(2).getError()).isEqualTo("Employee already exist with this mail :taken@mail.com");
+        assertThat(employeeRepository.count()).isEqualTo(4);
+        Employee quoted = employeeRepository.findByEmail("b@mail.com");
+        assertThat(quoted.getFirstName()).isEqualTo("yakut, bilal");
+        assertThat(quoted.getLastName()).isEqualTo("say \"hi\"");
+        assertThat(employeeRepository.findByEmail("d@mail.com").getFirstName()).isNull();
+    }
+
+    @Test
+    @DisplayName("a rerun of a partially imported file resumes after the last committed chunk")
+    public void givenCheckpoint_whenImportAgain_thenResumeAfterCheckpoint() throws Exception {
+        //given --precondition operation
+        write("resume.csv",
+                "firstName,lastName,email",
+                "bilal,yakut,1@mail.com",
+                "bilal,yakut,2@mail.com",
+                "bilal,yakut,3@mail.com",
+                "bilal,yakut,4@mail.com",
+                "bilal,yakut,5@mail.com");
+        Path file = importDirectory.resolve("resume.csv");
+        // a first run that failed after committing the chunk of lines 2-4, whose rows are not here
+        long afterLine4 = String.join("\n", Files.readAllLines(file).subList(0, 4)).length() + 1;
+        employeeImportJobRepository.save(EmployeeImportJob.builder()
+                .id("resume.csv")
+                .fileSize(Files.size(file))
+                .fileModified(Files.getLastModifiedTime(file).toMillis())
+                .committedBytes(afterLine4)
+                .committedLines(4)
+                .created(3)
+                .status(EmployeeImportStatus.FAILED)
+                .error("Connection reset")
+                .build());
+
+        //when --action that we are going test
+        employeeImportService.startImport("resume.csv");
+        EmployeeImportProgress progress = await("resume.csv");
+
+        //then verify the output
+        assertThat(progress.getStatus()).isEqualTo(EmployeeImportStatus.COMPLETED);
+        assertThat(progress.getError()).isNull();
+        assertThat(progress.getCreated()).isEqualTo(5);
+        assertThat(progress.getCommittedLines()).isEqualTo(6);
+        assertThat(employeeRepository.findAll()).extracting(Employee::getEmail)
+                .containsExactlyInAnyOrder("4@mail.com", "5@mail.com");
+    }
+
+    @Test
+    @DisplayName("a completed file is not imported twice, a changed file starts over")
+    public void givenCompletedImport_whenImportAgain_thenSkippedUnlessChanged() throws Exception {
+        //given --precondition operation
+        write("done.csv", "email", "1@mail.com", "2@mail.com");
+        employeeImportService.startImport("done.csv");
+        await("done.csv");
+
+        //when --action that we are going test
+        EmployeeImportProgress rerun = employeeImportService.startImport("done.csv");
+        write("done.csv", "email", "1@mail.com", "2@mail.com", "3@mail.com", "4@mail.com");
+        Files.setLastModifiedTime(importDirectory.resolve("done.csv"),
+                java.nio.file.attribute.FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        employeeImportService.startImport("done.csv");
+        EmployeeImportProgress changed = await("done.csv");
+
+        //then verify the output
+        assertThat(rerun.getStatus()).isEqualTo(EmployeeImportStatus.COMPLETED);
+        assertThat(rerun.getCreated()).isEqualTo(2);
+        assertThat(changed.getStatus()).isEqualTo(EmployeeImportStatus.COMPLETED);
+        assertThat(changed.getCreated()).isEqualTo(2);
+        assertThat(changed.getFailed()).isEqualTo(2);
+        assertThat(employeeRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("files outside the import directory and files without an email column are rejected")
+    public void givenInvalidFile_whenImport_thenRejected() throws Exception {
+        //given --precondition operation
+        write("names.csv", "firstName,lastName", "bilal,yakut");
+
+        //when --action that we are going test
+        employeeImportService.startImport("names.csv");
+        EmployeeImportProgress progress = await("names.csv");
+
+        //then verify the output
+        assertThatThrownBy(() -> employeeImportService.startImport("../names.csv"))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(progress.getStatus()).isEqualTo(EmployeeImportStatus.FAILED);
+        assertThat(progress.getError()).startsWith("Csv header has no email column");
+        assertThat(employeeRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("emails differing only in case are duplicates and an over long line is reported without failing the import")
+    public void givenOtherCaseEmailAndLongLine_whenImport_thenBothReportedAsLineErrors() throws Exception {
+        //given --precondition operation
+        write("long.csv",
+                "email,firstName",
+                "a@mail.com,bilal",
+                "A@Mail.com,bilal",
+                "b@mail.com," + "x".repeat((1 << 20) + 1),
+                "c@mail.com,bilal");
+
+        //when --action that we are going test
+        employeeImportService.startImport("long.csv");
+        EmployeeImportProgress progress = await("long.csv");
+
+        //then verify the output
+        assertThat(progress.getStatus()).isEqualTo(EmployeeImportStatus.COMPLETED);
+        assertThat(progress.getCreated()).isEqualTo(2);
+        assertThat(progress.getFailed()).isEqualTo(2);
+        assertThat(progress.getCommittedLines()).isEqualTo(5);
+        assertThat(progress.getErrors()).extracting(EmployeeImportError::getLine).containsExactly(3L, 4L);
+        assertThat(progress.getErrors().get(0).getError()).isEqualTo("Duplicate email in file :A@Mail.com");
+        assertThat(progress.getErrors().get(1).getError()).isEqualTo("Line longer than 1048576 bytes");
+        assertThat(employeeRepository.findAll()).extracting(Employee::getEmail)
+                .containsExactlyInAnyOrder("a@mail.com", "c@mail.com");
+    }
+}
@@ -0,0 +1,212 @@
+package net.tigrisTesting.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import net.tigrisTesting.cache.EmailBloomFilter;
+import net.tigrisTesting.cache.EmployeeSearchIndex;
+import net.tigrisTesting.config.CacheConfig;
+import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeBatchRepository;
+import net.tigrisTesting.repository.EmployeeFieldRepository;
+import net.tigrisTesting.repository.EmployeeRepository;
+import net.tigrisTesting.repository.EmployeeSearchRepository;
+import net.tigrisTesting.service.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig
+class EmployeeServiceCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(EmployeeServiceImpl.class)
+    static class CacheTestConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.EMPLOYEE_CACHE, CacheConfig.EMPLOYEE_JSON_CACHE);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+            return cacheManager;
+        }
+
+        @Bean
+        public EmailBloomFilter emailBloomFilter() {
+            return new EmailBloomFilter(1000, 0.01);
+        }
+
+        @Bean
+        public EmployeeSearchIndex employeeSearchIndex() {
+            return new EmployeeSearchIndex(0.4);
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+    @MockBean
+    private EmployeeBatchRepository employeeBatchRepository;
+    @MockBean
+    private EmployeeSearchRepository employeeSearchRepository;
+    @MockBean
+    private EmployeeFieldRepository employeeFieldRepository;
+    @MockBean
+    private EntityManager entityManager;
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE).clear();
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("bilal")
+                .lastName("yakut")
+                .email("bilal@mail.com")
+                .build();
+    }
+
+    //test for repeated getEmployeeById served from the cache
+    @Test
+    @DisplayName("getEmployeeById reads the repository once for repeated ids")
+    public void givenCachedEmployee_whenGetEmployeeById_thenRepositoryHitOnce() {
+        //given --precondition operation
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        // stats survive clear(), so only this test's reads are counted
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE);
+        CacheStats before = cache.getNativeCache().stats();
+
+        //when --action that we are going test
+        employeeService.getEmployeeById(1L);
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(1L);
+
+        //then verify the output
+        assertThat(cachedEmployee).get().usingRecursiveComparison().isEqualTo(employee);
+        verify(employeeRepository, times(1)).findById(1L);
+        CacheStats stats = cache.getNativeCache().stats().minus(before);
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    //test for a write committing while a cache miss is loading
+    @Test
+    @DisplayName("getEmployeeById does not cache a row loaded before a concurrent write's eviction")
+    public void givenWriteDuringLoad_whenGetEmployeeById_thenStaleRowNotCached() {
+        //given --precondition operation
+        Employee updated = employee.toBuilder().firstName("billy").build();
+        given(employeeRepository.findById(1L))
+                .willAnswer(invocation -> {
+                    // the old row is read, then an update commits and evicts before the reader fills the cache
+                    cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE).evict(1L);
+                    return Optional.of(employee);
+                })
+                .willReturn(Optional.of(updated));
+
+        //when --action that we are going test
+        Optional<Employee> raced = employeeService.getEmployeeById(1L);
+        Optional<Employee> next = employeeService.getEmployeeById(1L);
+        Optional<Employee> cached = employeeService.getEmployeeById(1L);
+
+        //then verify the output
+        assertThat(raced.orElseThrow().getFirstName()).isEqualTo("bilal");
+        assertThat(next.orElseThrow().getFirstName()).isEqualTo("billy");
+        assertThat(cached.orElseThrow().getFirstName()).isEqualTo("billy");
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    //test for callers changing the employee they got from the cache
+    @Test
+    @DisplayName("getEmployeeById hands out copies that cannot change the cached employee")
+    public void givenCachedEmployee_whenCallerChangesIt_thenCacheUnchanged() {
+        //given --precondition operation
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        employeeService.getEmployeeById(1L).orElseThrow().setFirstName("changed by first reader");
+
+        //when --action that we are going test
+        Employee hit = employeeService.getEmployeeById(1L).orElseThrow();
+        hit.setEmail("changed@mail.com");
+        Employee nextHit = employeeService.getEmployeeById(1L).orElseThrow();
+
+        //then verify the output
+        assertThat(nextHit).isNotSameAs(hit);
+        assertThat(nextHit.getFirstName()).isEqualTo("bilal");
+        assertThat(nextHit.getEmail()).isEqualTo("bilal@mail.com");
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    //test for missing ids not being cached
+    @Test
+    @DisplayName("getEmployeeById does not cache missing employees")
+    public void givenMissingEmployee_whenGetEmployeeById_thenNotCached() {
+        //given --precondition operation
+        given(employeeRepository.findById(2L)).willReturn(Optional.empty());
+
+        //when --action that we are going test
+        employeeService.getEmployeeById(2L);
+        employeeService.getEmployeeById(2L);
+
+        //then verify the output
+        verify(employeeRepository, times(2)).findById(2L);
+    }
+
+    //test for delete invalidating the cached entry
+    @Test
+    @DisplayName("deleteEmployee evicts the cached employee")
+    public void givenCachedEmployee_whenDeleteEmployee_thenEvicted() {
+        //given --precondition operation
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeRepository.deleteEmployeeById(1L)).willReturn(1);
+        employeeService.getEmployeeById(1L);
+
+        //when --action that we are going test
+        employeeService.deleteEmployee(1L);
+        employeeService.getEmployeeById(1L);
+
+        //then verify the output
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    //test for writes invalidating the pre-serialized json
+    @Test
+    @DisplayName("deleteEmployee evicts the cached json of the employee")
+    public void givenCachedJson_whenDeleteEmployee_thenJsonEvicted() {
+        //given --precondition operation
+        given(employeeRepository.deleteEmployeeById(1L)).willReturn(1);
+        cacheManager.getCache(CacheConfig.EMPLOYEE_JSON_CACHE).put(1L, "{}");
+
+        //when --action that we are going test
+        employeeService.deleteEmployee(1L);
+
+        //then verify the output
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEE_JSON_CACHE).get(1L)).isNull();
+    }
+}
@@ -1,9 +1,30 @@
 package net.tigrisTesting.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import net.tigrisTesting.cache.EmailBloomFilter;
+import net.tigrisTesting.cache.EmployeeSearchIndex;
+import net.tigrisTesting.dto.BulkChangeResult;
+import net.tigrisTesting.dto.BulkCreateResult;
+import net.tigrisTesting.dto.BulkItemStatus;
+import net.tigrisTesting.dto.EmployeeField;
+import net.tigrisTesting.dto.EmployeeFieldPage;
+import net.tigrisTesting.dto.EmployeeFilter;
+import net.tigrisTesting.dto.EmployeePage;
+import net.tigrisTesting.dto.NameMatch;
+import net.tigrisTesting.exception.BadRequestException;
+import net.tigrisTesting.exception.DuplicateEmailException;
+import net.tigrisTesting.exception.PreconditionFailedException;
 import net.tigrisTesting.exception.ResourceNotFoundException;
 import net.tigrisTesting.model.Employee;
+import net.tigrisTesting.repository.EmployeeBatchRepository;
+import net.tigrisTesting.repository.EmployeeFieldRepository;
 import net.tigrisTesting.repository.EmployeeRepository;
+import net.tigrisTesting.repository.EmployeeSearchRepository;
+import net.tigrisTesting.repository.EmployeeSearchRepository.NameKey;
 import net.tigrisTesting.service.impl.EmployeeServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,12 +33,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.BDDMockito.given;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +60,22 @@ public class EmployeeServiceTest {
 
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private EmployeeBatchRepository employeeBatchRepository;
+    @Mock
+    private EmployeeSearchRepository employeeSearchRepository;
+    @Mock
+    private EmployeeFieldRepository employeeFieldRepository;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private EntityManager entityManager;
+    @Spy
+    private EmailBloomFilter emailBloomFilter = new EmailBloomFilter(1000, 0.01);
+    @Spy
+    private EmployeeSearchIndex employeeSearchIndex = new EmployeeSearchIndex(0.4);
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
     @InjectMocks
     private EmployeeServiceImpl employeeService;
     private Employee employee;
@@ -75,6 +126,7 @@ public class EmployeeServiceTest {
 
         //then
         verify(employeeRepository, never()).save(employee);
+        assertThat(meterRegistry.get("employee.duplicate.emails").tag("operation", "create").tag("detected.by", "lookup").counter().count()).isEqualTo(1);
 
     }
 
@@ -128,13 +180,529 @@ public class EmployeeServiceTest {
     public void givenEmployeeId_whenDeleteEmployeeById_thenNothing() {
         //given --precondition operation
         long employeeId = 1L;
-        willDoNothing().given(employeeRepository).deleteById(employeeId);
+        given(employeeRepository.deleteEmployeeById(employeeId)).willReturn(1);
 
         //when --action that we are going test
         employeeService.deleteEmployee(employeeId);
 
         //then verify the output
-        verify(employeeRepository, times(1)).deleteById(employeeId);
+        verify(employeeRepository, times(1)).deleteEmployeeById(employeeId);
+        verify(employeeRepository, never()).findById(employeeId);
+
+    }
+
+    //test for keyset page of employees
+    @Test
+    @DisplayName("JUnit getEmployeePage operation")
+    public void givenCursor_whenGetEmployeePage_thenReturnPageAndNextCursor() {
+        //given --precondition operation
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("jen")
+                .lastName("jen")
+                .email("jen@mail.com")
+                .build();
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2)))
+                .willReturn(new SliceImpl<>(List.of(employee, employee1), PageRequest.of(0, 2), true));
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 2)))
+                .willReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+
+        //when --action that we are going test
+        EmployeePage firstPage = employeeService.getEmployeePage(null, 2);
+        EmployeePage lastPage = employeeService.getEmployeePage(firstPage.getNextCursor(), 2);
+
+        //then verify the output
+        assertThat(firstPage.getContent().size()).isEqualTo(2);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(lastPage.getContent()).isEmpty();
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    //test for keyset page with a cursor that was not issued by the service
+    @Test
+    @DisplayName("JUnit getEmployeePage operation with invalid cursor")
+    public void givenInvalidCursor_whenGetEmployeePage_thenThrowsException() {
+
+        Assertions.assertThrows(BadRequestException.class, () -> {
+            employeeService.getEmployeePage("not-a-cursor", 10);
+        });
+
+        verifyNoInteractions(employeeRepository);
+    }
+
+    //test for prefix name search, the next cursor carries the last name of the last row
+    @Test
+    @DisplayName("JUnit searchEmployees operation")
+    public void givenPrefixMatch_whenSearchEmployees_thenReturnPageAndNameCursor() {
+        //given --precondition operation
+        given(employeeSearchRepository.findKeysByName(null, "ya", NameMatch.PREFIX, List.of(), null, 1))
+                .willReturn(new SliceImpl<>(List.of(new NameKey(List.of("yakut"), 1L)), PageRequest.of(0, 1), true));
+        given(employeeSearchRepository.findAllByIdInOrder(List.of(1L))).willReturn(List.of(employee));
+        given(employeeSearchRepository.findKeysByName(null, "ya", NameMatch.PREFIX, List.of("yakut"), 1L, 1))
+                .willReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
+        given(employeeSearchRepository.findAllByIdInOrder(List.of())).willReturn(List.of());
+
+        //when --action that we are going test
+        EmployeePage firstPage = employeeService.searchEmployees(" ", "ya", NameMatch.PREFIX, null, 1);
+        EmployeePage lastPage = employeeService.searchEmployees(null, "ya", NameMatch.PREFIX, firstPage.getNextCursor(), 1);
+
+        //then verify the output
+        assertThat(firstPage.getContent()).containsExactly(employee);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(lastPage.getContent()).isEmpty();
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    //test for a search page whose rows were all deleted between the keyset query and the load
+    @Test
+    @DisplayName("JUnit searchEmployees moves past a page of deleted rows")
+    public void givenDeletedPage_whenSearchEmployees_thenCursorAdvances() {
+        //given --precondition operation
+        given(employeeSearchRepository.findKeysByName(null, "ya", NameMatch.PREFIX, List.of(), null, 2))
+                .willReturn(new SliceImpl<>(List.of(new NameKey(List.of("yakut"), 1L), new NameKey(List.of("yaman"), 2L)),
+                        PageRequest.of(0, 2), true));
+        given(employeeSearchRepository.findAllByIdInOrder(List.of(1L, 2L))).willReturn(List.of());
+        given(employeeSearchRepository.findKeysByName(null, "ya", NameMatch.PREFIX, List.of("yaman"), 2L, 2))
+                .willReturn(new SliceImpl<>(List.of(new NameKey(List.of("yamuk"), 3L)), PageRequest.of(0, 2), false));
+        given(employeeSearchRepository.findAllByIdInOrder(List.of(3L))).willReturn(List.of(employee));
+
+        //when --action that we are going test
+        EmployeePage deletedPage = employeeService.searchEmployees(null, "ya", NameMatch.PREFIX, null, 2);
+        EmployeePage lastPage = employeeService.searchEmployees(null, "ya", NameMatch.PREFIX, deletedPage.getNextCursor(), 2);
+
+        //then verify the output
+        assertThat(deletedPage.getContent()).isEmpty();
+        assertThat(deletedPage.getNextCursor()).isNotNull();
+        assertThat(lastPage.getContent()).containsExactly(employee);
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    //test for name search without any name
+    @Test
+    @DisplayName("JUnit searchEmployees operation without names")
+    public void givenNoNames_whenSearchEmployees_thenThrowsException() {
+
+        Assertions.assertThrows(BadRequestException.class, () -> {
+            employeeService.searchEmployees(null, "", NameMatch.EXACT, null, 10);
+        });
+
+        verifyNoInteractions(employeeSearchRepository);
+    }
+
+    //test for fuzzy search after an update that bypasses the entity listeners
+    @Test
+    @DisplayName("JUnit fuzzySearchEmployees operation after updateEmployee")
+    public void givenUpdatedEmployee_whenFuzzySearchEmployees_thenFindsNewName() {
+        //given --precondition operation
+        employeeSearchIndex.put(1L, "bilal", "yakut", "bilal@mail.com");
+        given(employeeRepository.updateById(1L, "ali", "yakut", "bilal@mail.com", null)).willReturn(1);
+        employee.setFirstName("ali");
+        employeeService.updateEmployee(employee);
+
+        //when --action that we are going test
+        List<Long> ids = employeeService.fuzzySearchEmployees("alli yakut", 10);
+
+        //then verify the output
+        assertThat(ids).containsExactly(1L);
+        assertThat(employeeService.fuzzySearchEmployees("bilal", 10)).containsExactly(1L);
+        verifyNoInteractions(entityManager);
+    }
+
+    //test for streaming export of employees
+    @Test
+    @DisplayName("JUnit exportEmployees operation")
+    public void givenEmployeeStream_whenExportEmployees_thenConsumeAndDetachEachEmployee() {
+        //given --precondition operation
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("jen")
+                .lastName("jen")
+                .email("jen@mail.com")
+                .build();
+        given(employeeRepository.streamAllBy()).willReturn(Stream.of(employee, employee1));
+
+        //when --action that we are going test
+        List<Employee> exported = new ArrayList<>();
+        employeeService.exportEmployees(exported::add);
+
+        //then verify the output
+        assertThat(exported).containsExactly(employee, employee1);
+        verify(entityManager, times(1)).detach(employee);
+        verify(entityManager, times(1)).detach(employee1);
+    }
+
+    //test for bulk create with per item results
+    @Test
+    @DisplayName("JUnit saveEmployees bulk operation")
+    public void givenEmployeeList_whenSaveEmployees_thenReturnPerItemResults() {
+        //given --precondition operation
+        Employee existing = Employee.builder().firstName("jen").lastName("jen").email("jen@mail.com").build();
+        Employee duplicate = Employee.builder().firstName("bil").lastName("yak").email("bilal@mail.com").build();
+        Employee noEmail = Employee.builder().firstName("ema").lastName("ema").build();
+        given(employeeBatchRepository.getBatchSize()).willReturn(500);
+        given(employeeRepository.findExistingEmails(List.of("bilal@mail.com", "jen@mail.com")))
+                .willReturn(List.of("jen@mail.com"));
+        willAnswer(invocation -> {
+            List<Employee> batch = invocation.getArgument(0);
+            batch.forEach(e -> e.setId(10L));
+            return null;
+        }).given(employeeBatchRepository).insertBatch(List.of(employee));
+
+        //when --action that we are going test
+        BulkCreateResult result = employeeService.saveEmployees(List.of(employee, existing, duplicate, noEmail));
+
+        //then verify the output
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getResults().get(0).getStatus()).isEqualTo(BulkItemStatus.CREATED);
+        assertThat(result.getResults().get(0).getId()).isEqualTo(10L);
+        assertThat(result.getResults().get(1).getStatus()).isEqualTo(BulkItemStatus.FAILED);
+        assertThat(result.getResults().get(2).getStatus()).isEqualTo(BulkItemStatus.FAILED);
+        assertThat(result.getResults().get(3).getStatus()).isEqualTo(BulkItemStatus.FAILED);
+        verify(employeeBatchRepository, times(1)).insertBatch(anyList());
+        assertThat(meterRegistry.get("employee.duplicate.emails").tag("operation", "bulk").tag("detected.by", "lookup").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("employee.duplicate.emails").tag("operation", "bulk").tag("detected.by", "request").counter().count()).isEqualTo(1);
+    }
+
+    //test for bulk create with emails differing only in case
+    @Test
+    @DisplayName("JUnit saveEmployees ignores email case for duplicates")
+    public void givenEmailsInOtherCase_whenSaveEmployees_thenDuplicatesFailed() {
+        //given --precondition operation
+        Employee sameInUpperCase = Employee.builder().firstName("bil").lastName("yak").email("BILAL@mail.com").build();
+        Employee existing = Employee.builder().firstName("jen").lastName("jen").email("Jen@Mail.com").build();
+        given(employeeBatchRepository.getBatchSize()).willReturn(500);
+        given(employeeRepository.findExistingEmails(List.of("bilal@mail.com", "Jen@Mail.com")))
+                .willReturn(List.of("jen@mail.com"));
+
+        //when --action that we are going test
+        BulkCreateResult result = employeeService.saveEmployees(List.of(employee, sameInUpperCase, existing));
+
+        //then verify the output
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getResults().get(1).getError()).isEqualTo("Duplicate email in request :BILAL@mail.com");
+        assertThat(result.getResults().get(2).getError()).isEqualTo("Employee already exist with this mail :Jen@Mail.com");
+        verify(employeeBatchRepository, times(1)).insertBatch(List.of(employee));
+    }
+
+    //test for bulk create when the unique index rejects one row of the chunk
+    @Test
+    @DisplayName("JUnit saveEmployees retries a rejected chunk row by row")
+    public void givenConcurrentDuplicate_whenSaveEmployees_thenOnlyThatRowFails() {
+        //given --precondition operation
+        Employee taken = Employee.builder().firstName("jen").lastName("jen").email("jen@mail.com").build();
+        given(employeeBatchRepository.getBatchSize()).willReturn(500);
+        DataIntegrityViolationException duplicate = violation("employee.uk_employee_email",
+                new SQLException("Duplicate entry 'jen@mail.com' for key 'employee.uk_employee_email'", "23000", 1062));
+        willThrow(duplicate).given(employeeBatchRepository).insertBatch(List.of(employee, taken));
+        willThrow(duplicate).given(employeeBatchRepository).insertBatch(List.of(taken));
+        willDoNothing().given(employeeBatchRepository).insertBatch(List.of(employee));
+
+        //when --action that we are going test
+        BulkCreateResult result = employeeService.saveEmployees(List.of(employee, taken));
+
+        //then verify the output
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getResults().get(0).getStatus()).isEqualTo(BulkItemStatus.CREATED);
+        assertThat(result.getResults().get(1).getError()).isEqualTo("Employee already exist with this mail :jen@mail.com");
+        verify(employeeBatchRepository, times(1)).insertBatch(List.of(employee));
+        assertThat(meterRegistry.get("employee.duplicate.emails").tag("operation", "bulk").tag("detected.by", "constraint").counter().count()).isEqualTo(1);
+    }
+
+    //test for saving employee whose email the warm filter has never seen
+    @Test
+    @DisplayName("JUnit saveEmployee skips the email lookup for unseen emails")
+    public void givenUnseenEmail_whenSaveEmployee_thenSkipEmailLookup() {
+        //given --precondition operation
+        emailBloomFilter.markWarm();
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        //when --action that we are going test
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        //then verify the output
+        assertThat(savedEmployee).isNotNull();
+        assertThat(emailBloomFilter.mightContain(employee.getEmail())).isTrue();
+        verify(employeeRepository, never()).findByEmail(anyString());
+    }
+
+    //test for saving employee when the unique index rejects the email
+    @Test
+    @DisplayName("JUnit saveEmployee maps unique email violation to duplicate email")
+    public void givenConcurrentDuplicate_whenSaveEmployee_thenThrowsDuplicateEmail() {
+        //given --precondition operation
+        emailBloomFilter.markWarm();
+        given(employeeRepository.save(employee)).willThrow(violation("employee.uk_employee_email",
+                new SQLException("Duplicate entry 'bilal@mail.com' for key 'employee.uk_employee_email'", "23000", 1062)));
+
+        //when --action that we are going test
+        Assertions.assertThrows(DuplicateEmailException.class, () -> {
+            employeeService.saveEmployee(employee);
+        });
+
+        //then
+        verify(employeeRepository, never()).findByEmail(anyString());
+        assertThat(meterRegistry.get("employee.duplicate.emails").tag("operation", "create").tag("detected.by", "constraint").counter().count()).isEqualTo(1);
+    }
+
+    //test for saving employee when a column other than the email is rejected
+    @Test
+    @DisplayName("JUnit saveEmployee passes other integrity violations through")
+    public void givenTooLongName_whenSaveEmployee_thenNotDuplicateEmail() {
+        //given --precondition operation
+        emailBloomFilter.markWarm();
+        given(employeeRepository.save(employee)).willThrow(violation(null,
+                new SQLException("Data too long for column 'first_name' at row 1", "22001", 1406)));
+        given(employeeRepository.updateById(1L, employee.getFirstName(), employee.getLastName(), employee.getEmail(), 0L))
+                .willThrow(violation(null, new SQLException("Column 'email' cannot be null", "23000", 1048)));
+
+        //when --action that we are going test
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> employeeService.saveEmployee(employee));
+        Throwable update = Assertions.assertThrows(DataIntegrityViolationException.class,
+                () -> employeeService.updateEmployee(employee, 0L));
+
+        //then verify the output
+        assertThat(update).isNotInstanceOf(DuplicateEmailException.class);
+        assertThat(meterRegistry.get("employee.duplicate.emails").tag("operation", "create").tag("detected.by", "constraint").counter().count()).isZero();
+    }
+
+    // what spring makes of a constraint violation hibernate reported with the given constraint name
+    private static DataIntegrityViolationException violation(String constraintName, SQLException cause) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", cause, constraintName));
+    }
+
+    //test for delete employee with an unknown id
+    @Test
+    @DisplayName("Delete employeeById operation with unknown id")
+    public void givenUnknownEmployeeId_whenDeleteEmployeeById_thenThrowsException() {
+        //given --precondition operation
+        given(employeeRepository.deleteEmployeeById(2L)).willReturn(0);
+
+        //when --action that we are going test
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.deleteEmployee(2L);
+        });
+    }
+
+    //test for update employee operation
+    @Test
+    @DisplayName("JUnit updateEmployee operation")
+    public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
+        //given --precondition operation
+        employee.setEmail("billy@mail.com");
+        employee.setFirstName("billy");
+        given(employeeRepository.updateById(1L, "billy", "yakut", "billy@mail.com", null)).willReturn(1);
+
+        //when --action that we are going test
+        Employee updatedEmployee = employeeService.updateEmployee(employee);
+
+        //then verify the output
+        assertThat(updatedEmployee.getEmail()).isEqualTo("billy@mail.com");
+        assertThat(updatedEmployee.getFirstName()).isEqualTo("billy");
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    //test for update employee operation with an unknown id
+    @Test
+    @DisplayName("JUnit updateEmployee operation with unknown id")
+    public void givenUnknownEmployee_whenUpdateEmployee_thenThrowsException() {
+        //given --precondition operation
+        given(employeeRepository.updateById(1L, "bilal", "yakut", "bilal@mail.com", null)).willReturn(0);
+
+        //when --action that we are going test
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.updateEmployee(employee);
+        });
+    }
+
+    //test for partial update of employee
+    @Test
+    @DisplayName("JUnit patchEmployee operation")
+    public void givenPartialEmployee_whenPatchEmployee_thenOnlySuppliedFieldsSent() {
+        //given --precondition operation
+        Employee patch = Employee.builder().lastName("jen").build();
+        given(employeeRepository.patchById(1L, null, "jen", null, null)).willReturn(1);
+
+        //when --action that we are going test
+        employeeService.patchEmployee(1L, patch);
+
+        //then verify the output
+        verify(employeeRepository, times(1)).patchById(1L, null, "jen", null, null);
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    //test for conditional update with the current version
+    @Test
+    @DisplayName("JUnit updateEmployee operation with matching version")
+    public void givenCurrentVersion_whenUpdateEmployee_thenReturnNextVersion() {
+        //given --precondition operation
+        given(employeeRepository.updateById(1L, "bilal", "yakut", "bilal@mail.com", 3L)).willReturn(1);
+
+        //when --action that we are going test
+        Employee updatedEmployee = employeeService.updateEmployee(employee, 3L);
+
+        //then verify the output
+        assertThat(updatedEmployee.getVersion()).isEqualTo(4L);
+        verify(employeeRepository, never()).findVersionById(anyLong());
+    }
+
+    //test for conditional update with a stale version
+    @Test
+    @DisplayName("JUnit updateEmployee operation with stale version")
+    public void givenStaleVersion_whenUpdateEmployee_thenThrowsPreconditionFailed() {
+        //given --precondition operation
+        given(employeeRepository.updateById(1L, "bilal", "yakut", "bilal@mail.com", 3L)).willReturn(0);
+        given(employeeRepository.findVersionById(1L)).willReturn(Optional.of(5L));
+
+        //when --action that we are going test
+        Assertions.assertThrows(PreconditionFailedException.class, () -> {
+            employeeService.updateEmployee(employee, 3L);
+        });
+    }
+
+    //test for conditional patch with an unknown id
+    @Test
+    @DisplayName("JUnit patchEmployee operation with version and unknown id")
+    public void givenUnknownEmployee_whenPatchEmployeeWithVersion_thenThrowsNotFound() {
+        //given --precondition operation
+        given(employeeRepository.patchById(1L, null, "jen", null, 3L)).willReturn(0);
+        given(employeeRepository.findVersionById(1L)).willReturn(Optional.empty());
+
+        //when --action that we are going test
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.patchEmployee(1L, Employee.builder().lastName("jen").build(), 3L);
+        });
+    }
+
+    //test for version lookup answered from the employee cache
+    @Test
+    @DisplayName("JUnit getEmployeeVersion operation from cache")
+    public void givenCachedEmployee_whenGetEmployeeVersion_thenNoRepositoryCall() {
+        //given --precondition operation
+        ConcurrentMapCache cache = new ConcurrentMapCache("employees");
+        employee.setVersion(7L);
+        cache.put(1L, employee);
+        given(cacheManager.getCache("employees")).willReturn(cache);
+
+        //when --action that we are going test
+        Optional<Long> version = employeeService.getEmployeeVersion(1L);
+
+        //then verify the output
+        assertThat(version).contains(7L);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    //test for a sparse page, the id is read for the cursor but not returned
+    @Test
+    @DisplayName("JUnit getEmployeePage operation with fields")
+    public void givenFieldsWithoutId_whenGetEmployeePage_thenIdOnlyInCursor() {
+        //given --precondition operation
+        given(employeeFieldRepository.findByIdGreaterThan(0L, List.of(EmployeeField.ID, EmployeeField.EMAIL), 1))
+                .willReturn(new SliceImpl<>(List.of(new HashMap<>(Map.of("id", 1L, "email", "bilal@mail.com"))),
+                        PageRequest.of(0, 1), true));
+
+        //when --action that we are going test
+        EmployeeFieldPage page = employeeService.getEmployeePage(null, 1, "email, email");
+
+        //then verify the output
+        assertThat(page.getContent()).containsExactly(Map.of("email", "bilal@mail.com"));
+        assertThat(EmployeeCursor.decode(page.getNextCursor())).isEqualTo(1L);
+    }
+
+    //test for field names that are not employee properties
+    @Test
+    @DisplayName("JUnit getAllEmployees operation with unknown field")
+    public void givenUnknownField_whenGetAllEmployees_thenThrowsException() {
+
+        Assertions.assertThrows(BadRequestException.class, () -> {
+            employeeService.getAllEmployees("id,salary");
+        });
+
+        verifyNoInteractions(employeeFieldRepository);
+    }
+
+    //test for field selection answered from the employee cache
+    @Test
+    @DisplayName("JUnit getEmployeeById operation with fields from cache")
+    public void givenCachedEmployee_whenGetEmployeeByIdWithFields_thenProjectedWithoutRepositoryCall() {
+        //given --precondition operation
+        ConcurrentMapCache cache = new ConcurrentMapCache("employees");
+        cache.put(1L, employee);
+        given(cacheManager.getCache("employees")).willReturn(cache);
+
+        //when --action that we are going test
+        Optional<Map<String, Object>> fields = employeeService.getEmployeeById(1L, "lastName,id");
+
+        //then verify the output
+        assertThat(fields).contains(Map.of("lastName", "yakut", "id", 1L));
+        assertThat(fields.get().keySet()).containsExactly("lastName", "id");
+        verifyNoInteractions(employeeFieldRepository, employeeRepository);
+    }
+
+    //test for bulk update by ids in chunks
+    @Test
+    @DisplayName("JUnit updateEmployees operation by ids")
+    public void givenIds_whenUpdateEmployees_thenOneStatementPerChunkAndCachesEvicted() {
+        //given --precondition operation
+        ConcurrentMapCache cache = new ConcurrentMapCache("employees");
+        cache.put(1L, employee);
+        ConcurrentMapCache jsonCache = new ConcurrentMapCache("employeeJson");
+        jsonCache.put(5L, "{}");
+        given(cacheManager.getCache("employees")).willReturn(cache);
+        given(cacheManager.getCache("employeeJson")).willReturn(jsonCache);
+        given(employeeBatchRepository.getBatchSize()).willReturn(2);
+        given(employeeRepository.patchByIds(anyList(), eq("billy"), isNull())).willAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        employeeSearchIndex.put(1L, "bilal", "yakut", "bilal@mail.com");
+
+        //when --action that we are going test
+        BulkChangeResult result = employeeService.updateEmployees(new EmployeeFilter(List.of(1L, 2L, 3L, 2L, 4L, 5L), null), "billy", null);
+
+        //then verify the output
+        assertThat(result.getAffected()).isEqualTo(5);
+        assertThat(result.getChunks()).isEqualTo(3);
+        verify(employeeRepository).patchByIds(List.of(1L, 2L), "billy", null);
+        verify(employeeRepository).patchByIds(List.of(3L, 4L), "billy", null);
+        verify(employeeRepository).patchByIds(List.of(5L), "billy", null);
+        assertThat(cache.get(1L)).isNull();
+        assertThat(jsonCache.get(5L)).isNull();
+        assertThat(employeeSearchIndex.search("billy", 10)).containsExactly(1L);
+    }
+
+    //test for bulk delete by email domain, paged on id
+    @Test
+    @DisplayName("JUnit deleteEmployees operation by email domain")
+    public void givenEmailDomain_whenDeleteEmployees_thenKeysetChunksDeleted() {
+        //given --precondition operation
+        given(employeeBatchRepository.getBatchSize()).willReturn(2);
+        given(employeeRepository.findIdsByEmailLike(eq("%@mail\\_co.com"), anyLong(), any(Pageable.class)))
+                .willReturn(List.of(1L, 4L), List.of(9L), List.of());
+        given(employeeRepository.deleteByIds(anyList())).willAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        employeeSearchIndex.put(9L, "bilal", "yakut", "bilal@mail_co.com");
+
+        //when --action that we are going test
+        BulkChangeResult result = employeeService.deleteEmployees(new EmployeeFilter(null, "mail_co.com"));
+
+        //then verify the output
+        assertThat(result.getAffected()).isEqualTo(3);
+        assertThat(result.getChunks()).isEqualTo(2);
+        verify(employeeRepository).findIdsByEmailLike("%@mail\\_co.com", 0L, PageRequest.of(0, 2));
+        verify(employeeRepository).findIdsByEmailLike("%@mail\\_co.com", 4L, PageRequest.of(0, 2));
+        verify(employeeRepository).findIdsByEmailLike("%@mail\\_co.com", 9L, PageRequest.of(0, 2));
+        assertThat(employeeSearchIndex.size()).isZero();
+    }
+
+    //test for bulk filters that select nothing or everything
+    @Test
+    @DisplayName("JUnit deleteEmployees operation with invalid filter")
+    public void givenInvalidFilter_whenDeleteEmployees_thenThrowsException() {
+
+        Assertions.assertThrows(BadRequestException.class, () -> employeeService.deleteEmployees(new EmployeeFilter()));
+        Assertions.assertThrows(BadRequestException.class, () -> employeeService.deleteEmployees(new EmployeeFilter(List.of(1L), "mail.com")));
+        Assertions.assertThrows(BadRequestException.class, () -> employeeService.deleteEmployees(new EmployeeFilter(null, "@mail.com")));
+        Assertions.assertThrows(BadRequestException.class, () -> employeeService.updateEmployees(new EmployeeFilter(List.of(1L), null), null, null));
 
+        verify(employeeRepository, never()).deleteByIds(anyList());
     }
-}
\ No newline at end of file
+}
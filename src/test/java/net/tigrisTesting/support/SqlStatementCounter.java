@@ -0,0 +1,140 @@
+package net.tigrisTesting.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// sql round trip budgets for tests: @Import(SqlStatementCounter.class) wraps the DataSource in a
+// datasource-proxy that records every executed statement (from any thread), a jdbc batch is one
+// round trip. reset() before the call under test, then assert with selects(), inserts(), ...
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlStatementCounter {
+
+    private static final List<Statement> statements = new ArrayList<>();
+
+    @Bean
+    static BeanPostProcessor sqlStatementCounterDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new Listener())
+                        .build();
+            }
+        };
+    }
+
+    public static void reset() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    public static void assertSelects(int expected) {
+        assertCount(QueryType.SELECT, expected);
+    }
+
+    public static void assertInserts(int expected) {
+        assertCount(QueryType.INSERT, expected);
+    }
+
+    public static void assertUpdates(int expected) {
+        assertCount(QueryType.UPDATE, expected);
+    }
+
+    public static void assertDeletes(int expected) {
+        assertCount(QueryType.DELETE, expected);
+    }
+
+    public static void assertTotal(int expected) {
+        List<Statement> executed = executed();
+        assertThat(executed).as("statements executed:%n%s", describe(executed)).hasSize(expected);
+    }
+
+    public static void assertTotalAtMost(int budget) {
+        List<Statement> executed = executed();
+        assertThat(executed).as("statements executed:%n%s", describe(executed)).hasSizeLessThanOrEqualTo(budget);
+    }
+
+    // no executed statement mentions any of the columns
+    public static void assertColumnsNotRead(String... columns) {
+        List<Statement> executed = executed();
+        for (String column : columns) {
+            assertThat(executed.stream().filter(statement -> statement.sql.toLowerCase().contains(column)).count())
+                    .as("statements reading %s, executed:%n%s", column, describe(executed))
+                    .isZero();
+        }
+    }
+
+    private static void assertCount(QueryType type, int expected) {
+        List<Statement> executed = executed();
+        assertThat(executed.stream().filter(statement -> statement.type == type).count())
+                .as("%s statements, executed:%n%s", type, describe(executed))
+                .isEqualTo(expected);
+    }
+
+    private static List<Statement> executed() {
+        synchronized (statements) {
+            return new ArrayList<>(statements);
+        }
+    }
+
+    private static String describe(List<Statement> executed) {
+        StringBuilder description = new StringBuilder();
+        for (Statement statement : executed) {
+            description.append("  ").append(statement.sql);
+            if (statement.batchSize > 0) {
+                description.append(" [batch of ").append(statement.batchSize).append(']');
+            }
+            description.append('\n');
+        }
+        return description.toString();
+    }
+
+    private static final class Statement {
+
+        private final String sql;
+        private final QueryType type;
+        private final int batchSize;
+
+        private Statement(String sql, QueryType type, int batchSize) {
+            this.sql = sql;
+            this.type = type;
+            this.batchSize = batchSize;
+        }
+    }
+
+    private static final class Listener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                String sql = queryInfo.getQuery();
+                Statement statement = new Statement(sql, QueryUtils.getQueryType(sql), execInfo.isBatch() ? execInfo.getBatchSize() : 0);
+                synchronized (statements) {
+                    statements.add(statement);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+-- stands in for the schema a real replica receives through replication
+create table if not exists employee (
+    id bigint generated by default as identity primary key,
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    version bigint default 0 not null,
+    constraint uk_employee_email unique (email)
+);